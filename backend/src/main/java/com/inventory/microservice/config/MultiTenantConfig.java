@@ -1,23 +1,30 @@
 package com.inventory.microservice.config;
 
-import com.zaxxer.hikari.HikariDataSource;
+import com.inventory.microservice.entity.Tenant;
+import com.zaxxer.hikari.HikariConfig;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
-import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Configuration
+@RequiredArgsConstructor
 @Slf4j
 public class MultiTenantConfig {
 
+    private final TenantConnectionPools tenantConnectionPools;
+    private final TenantPoolProperties poolProperties;
+
     @Value("${multitenancy.master.datasource.url}")
     private String masterUrl;
 
@@ -27,6 +34,9 @@ public class MultiTenantConfig {
     @Value("${multitenancy.master.datasource.password}")
     private String masterPassword;
 
+    @Value("${multitenancy.master.datasource.driver-class-name:com.mysql.cj.jdbc.Driver}")
+    private String driverClassName;
+
     @Bean
     @Primary
     public DataSource dataSource() {
@@ -35,8 +45,8 @@ public class MultiTenantConfig {
         Map<Object, Object> targetDataSources = new HashMap<>();
 
         // Master datasource for tenant management
-        DataSource masterDataSource = createDataSource("inventory_master");
-        targetDataSources.put("master", masterDataSource);
+        DataSource masterDataSource = createDataSource(TenantDataSource.MASTER, "inventory_master", true);
+        targetDataSources.put(TenantDataSource.MASTER, masterDataSource);
 
         tenantDataSource.setTargetDataSources(targetDataSources);
         tenantDataSource.setDefaultTargetDataSource(masterDataSource);
@@ -46,29 +56,54 @@ public class MultiTenantConfig {
         return tenantDataSource;
     }
 
-    private DataSource createDataSource(String schemaName) {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        String url = masterUrl.replace("inventory_master", schemaName);
-        dataSource.setUrl(url);
-        dataSource.setUsername(masterUsername);
-        dataSource.setPassword(masterPassword);
-        dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
-
-        log.debug("Created datasource for schema: {}", schemaName);
-        return dataSource;
+    private DataSource createDataSource(String tenantId, String schemaName, boolean pinned) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("tenant-" + tenantId);
+        config.setJdbcUrl(masterUrl.replace("inventory_master", schemaName));
+        config.setUsername(masterUsername);
+        config.setPassword(masterPassword);
+        config.setDriverClassName(driverClassName);
+        config.setMinimumIdle(poolProperties.minimumIdleFor(tenantId));
+        config.setMaximumPoolSize(poolProperties.maximumPoolSizeFor(tenantId));
+        config.setConnectionTimeout(poolProperties.getConnectionTimeoutMs());
+        config.setIdleTimeout(poolProperties.getIdleTimeoutMs());
+        config.setMaxLifetime(poolProperties.getMaxLifetimeMs());
+
+        log.debug("Created pooled datasource for schema: {}", schemaName);
+        return tenantConnectionPools.register(tenantId, config, pinned);
     }
 
     // Method to dynamically add tenant datasource at runtime
     public void addTenantDataSource(String tenantId, String schemaName) {
         TenantDataSource tenantDataSource = (TenantDataSource) dataSource();
-        DataSource newDataSource = createDataSource(schemaName);
+        tenantDataSource.addTenantDataSource(tenantId, createDataSource(tenantId, schemaName, false));
 
-        Map<Object, Object> targetDataSources = new HashMap<>(tenantDataSource.getResolvedDataSources());
-        targetDataSources.put(tenantId, newDataSource);
+        log.info("Added new tenant datasource: {} -> schema: {}", tenantId, schemaName);
+    }
 
-        tenantDataSource.setTargetDataSources(targetDataSources);
-        tenantDataSource.afterPropertiesSet();
+    // Registers a known tenant unless it is already routed
+    public DataSource registerTenantDataSource(String tenantId, String schemaName) {
+        TenantDataSource tenantDataSource = (TenantDataSource) dataSource();
+        return tenantDataSource.addTenantDataSourceIfAbsent(tenantId,
+                key -> createDataSource(key, schemaName, false));
+    }
 
-        log.info("Added new tenant datasource: {} -> schema: {}", tenantId, schemaName);
+    // Queries master directly, so it neither re-enters routing nor joins a tenant transaction
+    public Optional<Tenant> findTenant(String tenantId) {
+        DataSource masterDataSource = ((TenantDataSource) dataSource()).getResolvedDefaultDataSource();
+        return new JdbcTemplate(masterDataSource).query("SELECT * FROM tenants WHERE tenant_id = ?",
+                new BeanPropertyRowMapper<>(Tenant.class), tenantId).stream().findFirst();
+    }
+
+    // Routes a tenant that is not registered yet through the resolver, which returns null to reject it
+    public void setTenantResolver(Function<String, DataSource> tenantResolver) {
+        ((TenantDataSource) dataSource()).setTenantResolver(tenantResolver);
+    }
+
+    // Stops routing to a tenant and closes its pool; requests still holding a connection will fail
+    public void removeTenantDataSource(String tenantId) {
+        TenantDataSource tenantDataSource = (TenantDataSource) dataSource();
+        tenantDataSource.removeTenantDataSource(tenantId);
+        tenantConnectionPools.remove(tenantId);
     }
 }
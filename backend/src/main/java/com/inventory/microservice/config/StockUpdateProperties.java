@@ -0,0 +1,37 @@
+package com.inventory.microservice.config;
+
+import com.inventory.microservice.service.StockUpdateMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Selects the stock update mode. A product override ({@code inventory.stock.products.<tenantId>.<productId>})
+ * wins over a tenant override ({@code inventory.stock.tenants.<tenantId>}), which wins over the default.
+ * Tenant ids containing characters other than letters, digits and '-' must be bracketed, e.g. {@code tenants[acme_eu]}.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.stock")
+@Data
+public class StockUpdateProperties {
+
+    private StockUpdateMode defaultMode = StockUpdateMode.OPTIMISTIC;
+
+    private Map<String, StockUpdateMode> tenants = new HashMap<>();
+
+    private Map<String, Map<Long, StockUpdateMode>> products = new HashMap<>();
+
+    public StockUpdateMode modeFor(String tenantId, Long productId) {
+        if (tenantId == null) {
+            return defaultMode;
+        }
+        Map<Long, StockUpdateMode> productModes = products.get(tenantId);
+        if (productModes != null && productModes.containsKey(productId)) {
+            return productModes.get(productId);
+        }
+        return tenants.getOrDefault(tenantId, defaultMode);
+    }
+}
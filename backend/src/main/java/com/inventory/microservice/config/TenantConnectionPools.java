@@ -0,0 +1,155 @@
+package com.inventory.microservice.config;
+
+import com.inventory.microservice.dto.TenantPoolStats;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the Hikari pools behind every tenant datasource. Keeps the sum of pool sizes under
+ * {@link TenantPoolProperties#getGlobalMaximumConnections()} and closes pools of tenants
+ * that have gone cold so their connections can be handed to busier tenants.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantConnectionPools {
+
+    private final TenantPoolProperties properties;
+
+    private final Map<String, TenantPooledDataSource> dataSources = new ConcurrentHashMap<>();
+    private int allocatedConnections;
+
+    public TenantPooledDataSource register(String tenantId, HikariConfig config, boolean pinned) {
+        TenantPooledDataSource dataSource = new TenantPooledDataSource(tenantId, config, this, pinned);
+        TenantPooledDataSource previous = dataSources.put(tenantId, dataSource);
+        if (previous != null) {
+            previous.close();
+        }
+        return dataSource;
+    }
+
+    public void remove(String tenantId) {
+        TenantPooledDataSource dataSource = dataSources.remove(tenantId);
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * Reserves up to {@code requested} connections from the global budget, closing cold
+     * pools if needed. Grants fewer than requested when the budget is nearly exhausted.
+     */
+    int reserve(TenantPooledDataSource requester, int requested) throws SQLException {
+        synchronized (this) {
+            if (allocatedConnections + requested <= properties.getGlobalMaximumConnections()) {
+                allocatedConnections += requested;
+                return requested;
+            }
+        }
+
+        // Free budget by closing the least recently used idle pools, outside the budget lock. A pool used
+        // moments ago is between requests rather than cold; closing it would only make it steal in turn
+        long idleSince = System.currentTimeMillis() - properties.getMinIdleBeforeStealMs();
+        List<TenantPooledDataSource> candidates = dataSources.values().stream()
+                .filter(ds -> ds != requester && !ds.isPinned() && ds.isOpen() && ds.getLastUsedAt() <= idleSince)
+                .sorted(Comparator.comparingLong(TenantPooledDataSource::getLastUsedAt))
+                .toList();
+        for (TenantPooledDataSource candidate : candidates) {
+            if (hasBudgetFor(requested)) {
+                break;
+            }
+            if (candidate.closeIfIdle(idleSince)) {
+                log.info("Closed pool of tenant {} to make room for tenant {}",
+                        candidate.getTenantId(), requester.getTenantId());
+            }
+        }
+
+        synchronized (this) {
+            int available = properties.getGlobalMaximumConnections() - allocatedConnections;
+            if (available <= 0) {
+                throw new SQLTransientConnectionException(
+                        "Global connection cap of " + properties.getGlobalMaximumConnections() +
+                                " reached, cannot open pool for tenant: " + requester.getTenantId());
+            }
+            int granted = Math.min(requested, available);
+            allocatedConnections += granted;
+            if (granted < requested) {
+                log.warn("Tenant {} pool capped at {} connections (requested {}) by global limit",
+                        requester.getTenantId(), granted, requested);
+            }
+            return granted;
+        }
+    }
+
+    synchronized void release(int connections) {
+        allocatedConnections -= connections;
+    }
+
+    private synchronized boolean hasBudgetFor(int requested) {
+        return allocatedConnections + requested <= properties.getGlobalMaximumConnections();
+    }
+
+    @Scheduled(fixedDelayString = "${multitenancy.pool.eviction-interval-ms:60000}")
+    public void evictIdlePools() {
+        long idleSince = System.currentTimeMillis() - properties.getEvictionIdleTimeoutMs();
+        int evicted = 0;
+        for (TenantPooledDataSource dataSource : dataSources.values()) {
+            if (dataSource.closeIfIdle(idleSince)) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} idle tenant connection pools", evicted);
+        }
+    }
+
+    public List<TenantPoolStats> getStats() {
+        return dataSources.values().stream()
+                .map(this::toStats)
+                .sorted(Comparator.comparing(TenantPoolStats::tenantId))
+                .toList();
+    }
+
+    public synchronized int getAllocatedConnections() {
+        return allocatedConnections;
+    }
+
+    private TenantPoolStats toStats(TenantPooledDataSource dataSource) {
+        HikariPoolMXBean mxBean = dataSource.getPoolMXBean();
+        LocalDateTime lastUsedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(dataSource.getLastUsedAt()), ZoneId.systemDefault());
+        if (mxBean == null) {
+            return new TenantPoolStats(dataSource.getTenantId(), false, 0, 0, 0, 0, 0, lastUsedAt);
+        }
+        return new TenantPoolStats(
+                dataSource.getTenantId(),
+                true,
+                mxBean.getActiveConnections(),
+                mxBean.getIdleConnections(),
+                mxBean.getTotalConnections(),
+                mxBean.getThreadsAwaitingConnection(),
+                dataSource.getReservedConnections(),
+                lastUsedAt
+        );
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        dataSources.values().forEach(TenantPooledDataSource::close);
+    }
+}
@@ -1,5 +1,12 @@
 package com.inventory.microservice.config;
 
+import java.util.concurrent.Callable;
+
+/**
+ * Tenant of the current unit of work, held per thread. Work handed to another thread must carry the
+ * tenant explicitly: wrap it with {@link #wrap(Runnable)} / {@link #wrap(Callable)} (Spring executors do
+ * this through {@link TenantContextTaskDecorator}) or bind it with {@link #runInTenant}.
+ */
 public class TenantContext {
 
     private static final ThreadLocal<String> currentTenant = new ThreadLocal<>();
@@ -15,4 +22,49 @@ public class TenantContext {
     public static void clear() {
         currentTenant.remove();
     }
+
+    // Runs work for a tenant on a thread that did not go through TenantInterceptor
+    public static void runInTenant(String tenantId, Runnable task) {
+        String previous = getCurrentTenant();
+        setCurrentTenant(tenantId);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // Captures the caller's tenant now and binds it wherever the task eventually runs
+    public static Runnable wrap(Runnable task) {
+        String tenantId = getCurrentTenant();
+        if (tenantId == null) {
+            return task;
+        }
+        return () -> runInTenant(tenantId, task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        String tenantId = getCurrentTenant();
+        if (tenantId == null) {
+            return task;
+        }
+        return () -> {
+            String previous = getCurrentTenant();
+            setCurrentTenant(tenantId);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    // The task may run on the submitting thread (caller-runs, direct executors); put its tenant back
+    private static void restore(String previous) {
+        if (previous != null) {
+            setCurrentTenant(previous);
+        } else {
+            clear();
+        }
+    }
 }
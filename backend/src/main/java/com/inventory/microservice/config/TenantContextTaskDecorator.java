@@ -0,0 +1,18 @@
+package com.inventory.microservice.config;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the submitting thread's tenant into tasks run by Spring-managed executors. Spring Boot applies
+ * this to the application task executor, which also runs async MVC work (streaming responses, callables),
+ * whether that executor uses platform or virtual threads.
+ */
+@Component
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
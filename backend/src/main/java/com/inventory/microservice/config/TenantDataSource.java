@@ -2,11 +2,67 @@ package com.inventory.microservice.config;
 
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Routes each connection request to the current tenant's datasource. Tenant targets live in a
+ * concurrent map so registering a tenant never rebuilds the routing table. They are registered by
+ * {@link TenantRegistry}; a tenant without a target is passed to the registry's resolver, which loads it
+ * from master if it was created elsewhere. A tenant that still has no target is never routed to master
+ * instead, because its writes would silently land in the master schema.
+ */
 public class TenantDataSource extends AbstractRoutingDataSource {
 
+    public static final String MASTER = "master";
+
+    private final Map<String, DataSource> tenantDataSources = new ConcurrentHashMap<>();
+    private volatile Function<String, DataSource> tenantResolver = tenantId -> null;
+
     @Override
     protected Object determineCurrentLookupKey() {
         String tenantId = TenantContext.getCurrentTenant();
-        return tenantId != null ? tenantId : "master";
+        return tenantId != null ? tenantId : MASTER;
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        String tenantId = (String) determineCurrentLookupKey();
+        if (MASTER.equals(tenantId)) {
+            return getResolvedDefaultDataSource();
+        }
+
+        DataSource dataSource = tenantDataSources.get(tenantId);
+        if (dataSource == null) {
+            dataSource = tenantResolver.apply(tenantId);
+        }
+        if (dataSource == null) {
+            // Unknown or deactivated tenant, e.g. a queued write that outlived a deactivation
+            throw new IllegalStateException("No datasource routed for tenant: " + tenantId);
+        }
+        return dataSource;
+    }
+
+    public void setTenantResolver(Function<String, DataSource> tenantResolver) {
+        this.tenantResolver = tenantResolver;
+    }
+
+    public void addTenantDataSource(String tenantId, DataSource dataSource) {
+        tenantDataSources.put(tenantId, dataSource);
+    }
+
+    public DataSource addTenantDataSourceIfAbsent(String tenantId, Function<String, DataSource> factory) {
+        return tenantDataSources.computeIfAbsent(tenantId, factory);
+    }
+
+    public DataSource removeTenantDataSource(String tenantId) {
+        return tenantDataSources.remove(tenantId);
+    }
+
+    public Set<String> getTenantIds() {
+        return Set.copyOf(tenantDataSources.keySet());
     }
 }
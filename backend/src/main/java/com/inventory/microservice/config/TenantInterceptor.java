@@ -1,19 +1,35 @@
 package com.inventory.microservice.config;
 
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
-public class TenantInterceptor implements HandlerInterceptor {
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMISSION_ATTRIBUTE = TenantInterceptor.class.getName() + ".admission";
+
+    private final TenantRegistry tenantRegistry;
+    private final TenantRequestLimiter tenantRequestLimiter;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
 
     @Value("${multitenancy.tenant.header:X-Tenant-ID}")
     private String tenantHeader;
 
+    @Value("${inventory.migrations.retry-after-seconds:5}")
+    private int migrationRetryAfterSeconds;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         String tenantId = request.getHeader(tenantHeader);
@@ -31,13 +47,68 @@ public class TenantInterceptor implements HandlerInterceptor {
             return false;
         }
 
+        // Answered from the in-memory registry; no master query on the request path
+        TenantRegistry.RegisteredTenant tenant = tenantRegistry.find(tenantId).orElse(null);
+        if (tenant == null) {
+            log.warn("Unknown tenant: {}", tenantId);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return false;
+        }
+        if (!tenant.isActive()) {
+            log.warn("Rejected request for deactivated tenant: {}", tenantId);
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return false;
+        }
+        // Existing tenants migrate in the background after startup; their tables may not exist yet
+        if (!tenantSchemaMigrator.isReady(tenantId)) {
+            log.debug("Rejected request of tenant {}: schema migration pending", tenantId);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(migrationRetryAfterSeconds));
+            return false;
+        }
+
+        // The async re-dispatch of an admitted request is not a new request
+        if (request.getDispatcherType() != DispatcherType.ASYNC && !admit(tenantId, request, response)) {
+            return false;
+        }
+
         log.debug("Setting tenant context: {}", tenantId);
         TenantContext.setCurrentTenant(tenantId);
         return true;
     }
 
+    private boolean admit(String tenantId, HttpServletRequest request, HttpServletResponse response) {
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        TenantRequestLimiter.Admission admission = tenantRequestLimiter.tryAcquire(tenantId, write);
+        if (!admission.isAdmitted()) {
+            log.debug("Rejected request of tenant {} ({}), retry after {} s",
+                    tenantId, admission.getReason(), admission.getRetryAfterSeconds());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()));
+            return false;
+        }
+        request.setAttribute(ADMISSION_ATTRIBUTE, admission);
+        return true;
+    }
+
+    // Streaming responses finish on another thread; release this one without a tenant attached. A stream
+    // can stay open for many minutes, so it gives its concurrency slot back once the handler returns.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        releaseAdmission(request);
+        TenantContext.clear();
+    }
+
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        releaseAdmission(request);
         TenantContext.clear();
     }
+
+    private static void releaseAdmission(HttpServletRequest request) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof TenantRequestLimiter.Admission admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.release();
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package com.inventory.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection pool settings for the per-tenant datasources.
+ * Defaults apply to every tenant unless overridden under {@code multitenancy.pool.tenants.<tenantId>}.
+ */
+@Component
+@ConfigurationProperties(prefix = "multitenancy.pool")
+@Data
+public class TenantPoolProperties {
+
+    private int minimumIdle = 1;
+
+    private int maximumPoolSize = 10;
+
+    // Upper bound on open connections summed over every tenant pool (master included)
+    private int globalMaximumConnections = 200;
+
+    private long connectionTimeoutMs = 5000;
+
+    // Hikari shrinks a pool back to minimumIdle after connections sit idle this long
+    private long idleTimeoutMs = 120000;
+
+    private long maxLifetimeMs = 1800000;
+
+    // A tenant pool unused for this long is closed entirely and re-opened on the next request
+    private long evictionIdleTimeoutMs = 900000;
+
+    // When the global cap is reached, only pools unused for this long are closed to make room
+    private long minIdleBeforeStealMs = 30000;
+
+    private Map<String, PoolSize> tenants = new HashMap<>();
+
+    public int minimumIdleFor(String tenantId) {
+        PoolSize override = tenants.get(tenantId);
+        return override != null && override.getMinimumIdle() != null ? override.getMinimumIdle() : minimumIdle;
+    }
+
+    public int maximumPoolSizeFor(String tenantId) {
+        PoolSize override = tenants.get(tenantId);
+        return override != null && override.getMaximumPoolSize() != null ? override.getMaximumPoolSize() : maximumPoolSize;
+    }
+
+    @Data
+    public static class PoolSize {
+
+        private Integer minimumIdle;
+
+        private Integer maximumPoolSize;
+    }
+}
@@ -0,0 +1,160 @@
+package com.inventory.microservice.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Routing target for a single tenant schema, backed by a lazily opened Hikari pool.
+ * The pool is opened on first use and may be closed by {@link TenantConnectionPools}
+ * once the tenant goes cold; the next connection request re-opens it.
+ */
+@Slf4j
+public class TenantPooledDataSource extends AbstractDataSource {
+
+    private final String tenantId;
+    private final HikariConfig config;
+    private final TenantConnectionPools pools;
+    private final boolean pinned;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile HikariDataSource pool;
+    private volatile long lastUsedAt = System.currentTimeMillis();
+    private volatile int reservedConnections;
+
+    TenantPooledDataSource(String tenantId, HikariConfig config, TenantConnectionPools pools, boolean pinned) {
+        this.tenantId = tenantId;
+        this.config = config;
+        this.pools = pools;
+        this.pinned = pinned;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        lastUsedAt = System.currentTimeMillis();
+        HikariDataSource current = pool;
+        if (current == null) {
+            current = open();
+        }
+        try {
+            return current.getConnection();
+        } catch (SQLException e) {
+            // The evictor may have closed the pool between the read above and getConnection
+            if (current.isClosed()) {
+                return open().getConnection();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Tenant datasources use the configured credentials");
+    }
+
+    HikariDataSource open() throws SQLException {
+        lock.lock();
+        try {
+            return openLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private HikariDataSource openLocked() throws SQLException {
+        if (pool == null || pool.isClosed()) {
+            int granted = pools.reserve(this, config.getMaximumPoolSize());
+            HikariConfig poolConfig = new HikariConfig();
+            config.copyStateTo(poolConfig);
+            poolConfig.setMaximumPoolSize(granted);
+            poolConfig.setMinimumIdle(Math.min(config.getMinimumIdle(), granted));
+            reservedConnections = granted;
+            try {
+                pool = new HikariDataSource(poolConfig);
+            } catch (RuntimeException e) {
+                pools.release(granted);
+                reservedConnections = 0;
+                throw new SQLException("Failed to open connection pool for tenant: " + tenantId, e);
+            }
+            log.info("Opened connection pool for tenant: {} (max size: {})", tenantId, granted);
+        }
+        return pool;
+    }
+
+    /**
+     * Closes the pool if it has not been used since {@code idleSince} and holds no
+     * borrowed connections. Never blocks: a pool that is busy opening is not cold.
+     */
+    boolean closeIfIdle(long idleSince) {
+        if (pinned || !lock.tryLock()) {
+            return false;
+        }
+        try {
+            HikariDataSource current = pool;
+            if (current == null || lastUsedAt > idleSince) {
+                return false;
+            }
+            HikariPoolMXBean mxBean = current.getHikariPoolMXBean();
+            if (mxBean != null && mxBean.getActiveConnections() > 0) {
+                return false;
+            }
+            closeLocked();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closeLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeLocked() {
+        HikariDataSource current = pool;
+        if (current != null) {
+            pool = null;
+            current.close();
+            pools.release(reservedConnections);
+            reservedConnections = 0;
+            log.info("Closed connection pool for tenant: {}", tenantId);
+        }
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public boolean isOpen() {
+        HikariDataSource current = pool;
+        return current != null && !current.isClosed();
+    }
+
+    public long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    public int getReservedConnections() {
+        return reservedConnections;
+    }
+
+    HikariPoolMXBean getPoolMXBean() {
+        HikariDataSource current = pool;
+        return current != null && !current.isClosed() ? current.getHikariPoolMXBean() : null;
+    }
+}
@@ -0,0 +1,210 @@
+package com.inventory.microservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.repository.TenantRepository;
+import com.inventory.microservice.service.TenantChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of the master {@code tenants} table, so the request path and the schedulers never
+ * query master to find out whether a tenant exists or is active. Reads see an immutable snapshot
+ * that is swapped on every change. Writes made through {@link com.inventory.microservice.service.TenantService}
+ * are applied as soon as they commit; changes made elsewhere (another instance, manual SQL) are picked
+ * up by the periodic refresh. A tenant id that is not in the snapshot is looked up in master once before
+ * it is rejected, so a tenant created on another instance works right away; repeated misses for the same
+ * id, and misses beyond a per-second cap, are rejected without querying master.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantRegistry {
+
+    private final TenantRepository tenantRepository;
+    private final MultiTenantConfig multiTenantConfig;
+
+    private volatile Map<String, RegisteredTenant> tenants = Map.of();
+    private volatile List<Tenant> activeTenants = List.of();
+    // Serialises snapshot swaps. A lock rather than a monitor, and master is never queried while holding it:
+    // request threads wait on it, and blocking a virtual thread inside a monitor pins its carrier
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    @Value("${multitenancy.registry.miss-reload-interval-ms:5000}")
+    private long missReloadIntervalMs;
+
+    @Value("${multitenancy.registry.max-miss-reloads-per-second:20}")
+    private int maxMissReloadsPerSecond;
+
+    // Tenant ids looked up in master recently and not found
+    private Cache<String, Boolean> recentMisses;
+    private long missWindowStart;
+    private int missReloadsInWindow;
+
+    /**
+     * A tenant record and, while the tenant is active, the routing target of its schema.
+     */
+    public record RegisteredTenant(Tenant tenant, DataSource dataSource) {
+
+        public boolean isActive() {
+            return Boolean.TRUE.equals(tenant.getActive());
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        recentMisses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(missReloadIntervalMs))
+                .maximumSize(10_000)
+                .build();
+        resolveMisses(tenantId -> find(tenantId).map(RegisteredTenant::dataSource).orElse(null));
+        refresh();
+        log.info("Tenant registry loaded {} tenants ({} active)", tenants.size(), activeTenants.size());
+    }
+
+    @Scheduled(fixedDelayString = "${multitenancy.registry.refresh-interval-ms:30000}",
+            initialDelayString = "${multitenancy.registry.refresh-interval-ms:30000}")
+    public void refresh() {
+        Map<String, RegisteredTenant> before = tenants;
+        List<Tenant> loaded = tenantRepository.findAll();
+        publishLock.lock();
+        try {
+            Map<String, RegisteredTenant> current = tenants;
+            Map<String, RegisteredTenant> next = new HashMap<>();
+            for (Tenant tenant : loaded) {
+                // Unchanged records keep their instance so identity-keyed state (request limits) survives a refresh
+                RegisteredTenant previous = current.get(tenant.getTenantId());
+                next.put(tenant.getTenantId(), previous != null && previous.tenant().equals(tenant) ? previous : register(tenant));
+            }
+            // Tenants changed or registered while master was being read are newer than what was loaded
+            current.forEach((tenantId, registered) -> {
+                if (before.get(tenantId) != registered) {
+                    next.put(tenantId, registered);
+                }
+            });
+            for (RegisteredTenant previous : current.values()) {
+                if (previous.isActive() && !next.containsKey(previous.tenant().getTenantId())) {
+                    deregister(previous.tenant());
+                }
+            }
+            publish(next);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantChanged(TenantChangedEvent event) {
+        publishLock.lock();
+        try {
+            Map<String, RegisteredTenant> next = new HashMap<>(tenants);
+            next.put(event.tenant().getTenantId(), register(event.tenant()));
+            publish(next);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    public Optional<RegisteredTenant> find(String tenantId) {
+        RegisteredTenant registered = tenants.get(tenantId);
+        return registered != null ? Optional.of(registered) : reloadOnMiss(tenantId);
+    }
+
+    // Sorted by tenant id; do not modify the returned records
+    public List<Tenant> getActiveTenants() {
+        return activeTenants;
+    }
+
+    private Optional<RegisteredTenant> reloadOnMiss(String tenantId) {
+        if (recentMisses.getIfPresent(tenantId) != null || !tryStartMissReload()) {
+            return Optional.empty();
+        }
+        Optional<Tenant> loaded = lookUp(tenantId);
+        if (loaded.isEmpty()) {
+            recentMisses.put(tenantId, Boolean.TRUE);
+            return Optional.empty();
+        }
+        publishLock.lock();
+        try {
+            RegisteredTenant registered = tenants.get(tenantId);
+            if (registered == null) {
+                registered = register(loaded.get());
+                Map<String, RegisteredTenant> next = new HashMap<>(tenants);
+                next.put(tenantId, registered);
+                publish(next);
+                log.info("Registered tenant {} ahead of the next refresh", tenantId);
+            }
+            return Optional.of(registered);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private synchronized boolean tryStartMissReload() {
+        long now = System.currentTimeMillis();
+        if (now - missWindowStart >= 1000) {
+            missWindowStart = now;
+            missReloadsInWindow = 0;
+        }
+        return missReloadsInWindow++ < maxMissReloadsPerSecond;
+    }
+
+    private RegisteredTenant register(Tenant tenant) {
+        if (!Boolean.TRUE.equals(tenant.getActive())) {
+            RegisteredTenant previous = tenants.get(tenant.getTenantId());
+            if (previous != null && previous.isActive()) {
+                deregister(previous.tenant());
+            }
+            return new RegisteredTenant(tenant, null);
+        }
+        return new RegisteredTenant(tenant, route(tenant));
+    }
+
+    private void deregister(Tenant tenant) {
+        unroute(tenant);
+        log.info("Stopped routing deactivated tenant: {}", tenant.getTenantId());
+    }
+
+    // No-op for tenants already routed; pools open lazily, so this does not touch the database
+    protected DataSource route(Tenant tenant) {
+        return multiTenantConfig.registerTenantDataSource(tenant.getTenantId(), tenant.getSchemaName());
+    }
+
+    protected void unroute(Tenant tenant) {
+        multiTenantConfig.removeTenantDataSource(tenant.getTenantId());
+    }
+
+    // Lets the routing datasource reach tenants that are missing from the snapshot
+    protected void resolveMisses(Function<String, DataSource> resolver) {
+        multiTenantConfig.setTenantResolver(resolver);
+    }
+
+    protected Optional<Tenant> lookUp(String tenantId) {
+        return multiTenantConfig.findTenant(tenantId);
+    }
+
+    private void publish(Map<String, RegisteredTenant> next) {
+        activeTenants = next.values().stream()
+                .filter(RegisteredTenant::isActive)
+                .map(RegisteredTenant::tenant)
+                .sorted(Comparator.comparing(Tenant::getTenantId))
+                .toList();
+        tenants = Map.copyOf(next);
+    }
+}
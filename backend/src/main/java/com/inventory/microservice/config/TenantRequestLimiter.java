@@ -0,0 +1,211 @@
+package com.inventory.microservice.config;
+
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.metrics.TenantMetricTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tenant admission control: separate request rates for reads and writes plus a cap on requests
+ * in flight. Quotas come from the tenant record in {@link TenantRegistry}, falling back to
+ * {@code multitenancy.rate-limit.*}. The request path only does CAS on atomics; limits are rebuilt
+ * when the registry hands out a new record for the tenant.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantRequestLimiter {
+
+    private static final Admission UNLIMITED = new Admission(null, null, 0);
+
+    private final TenantRegistry tenantRegistry;
+    private final MeterRegistry meterRegistry;
+    private final TenantMetricTags tenantMetricTags;
+
+    @Value("${multitenancy.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${multitenancy.rate-limit.read-requests-per-second:200}")
+    private int defaultReadRequestsPerSecond;
+
+    @Value("${multitenancy.rate-limit.write-requests-per-second:50}")
+    private int defaultWriteRequestsPerSecond;
+
+    @Value("${multitenancy.rate-limit.max-concurrent-requests:32}")
+    private int defaultMaxConcurrentRequests;
+
+    // Bucket size in seconds of the tenant's rate, i.e. how big a burst an idle tenant may send at once
+    @Value("${multitenancy.rate-limit.burst-seconds:1}")
+    private int burstSeconds;
+
+    private final Map<String, TenantLimits> limitsByTenant = new ConcurrentHashMap<>();
+
+    /**
+     * Admits or rejects one request. An admitted request holds a concurrency slot until
+     * {@link Admission#release()} is called.
+     */
+    public Admission tryAcquire(String tenantId, boolean write) {
+        if (!enabled) {
+            return UNLIMITED;
+        }
+        TenantLimits limits = limitsFor(tenantId);
+
+        // Slot first: a request turned away for concurrency must not spend a rate token it never used
+        if (!limits.tryEnter()) {
+            // Slots free up as requests finish; there is no schedule to derive a precise wait from
+            return reject(tenantId, "concurrency", TimeUnit.SECONDS.toNanos(1));
+        }
+        long waitNanos = (write ? limits.writes : limits.reads).tryTake(System.nanoTime());
+        if (waitNanos > 0) {
+            limits.inFlight.decrementAndGet();
+            return reject(tenantId, write ? "write-rate" : "read-rate", waitNanos);
+        }
+        return new Admission(limits, null, 0);
+    }
+
+    // Drops the limits of a tenant that no longer sends traffic
+    public void evict(String tenantId) {
+        limitsByTenant.remove(tenantId);
+    }
+
+    private TenantLimits limitsFor(String tenantId) {
+        Tenant tenant = tenantRegistry.find(tenantId).map(TenantRegistry.RegisteredTenant::tenant).orElse(null);
+        TenantLimits limits = limitsByTenant.get(tenantId);
+        if (limits != null && limits.source == tenant) {
+            return limits;
+        }
+        // First request or the quotas may have changed; whichever rebuild wins the merge is used by all
+        return limitsByTenant.merge(tenantId, newLimits(tenantId, tenant),
+                (current, rebuilt) -> current.source == tenant ? current : rebuilt);
+    }
+
+    private TenantLimits newLimits(String tenantId, Tenant tenant) {
+        int reads = quotaOrDefault(tenant == null ? null : tenant.getReadRequestsPerSecond(), defaultReadRequestsPerSecond);
+        int writes = quotaOrDefault(tenant == null ? null : tenant.getWriteRequestsPerSecond(), defaultWriteRequestsPerSecond);
+        int concurrent = quotaOrDefault(tenant == null ? null : tenant.getMaxConcurrentRequests(), defaultMaxConcurrentRequests);
+        log.debug("Loaded request quotas for tenant {}: {} reads/s, {} writes/s, {} concurrent",
+                tenantId, reads, writes, concurrent);
+        return new TenantLimits(tenant, new RateLimit(reads, burstSeconds), new RateLimit(writes, burstSeconds), concurrent);
+    }
+
+    private static int quotaOrDefault(Integer quota, int defaultQuota) {
+        return quota != null && quota > 0 ? quota : defaultQuota;
+    }
+
+    private Admission reject(String tenantId, String reason, long waitNanos) {
+        Counter.builder("inventory.requests.rejected")
+                .description("Requests rejected by tenant admission control")
+                .tag(TenantMetricTags.TAG, tenantMetricTags.tagFor(tenantId))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new Admission(null, reason, Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+    }
+
+    /**
+     * Outcome of {@link #tryAcquire}. {@code reason} and {@code retryAfterSeconds} are only set on rejection.
+     */
+    public static final class Admission {
+
+        private final TenantLimits limits;
+        private final String reason;
+        private final long retryAfterSeconds;
+
+        private Admission(TenantLimits limits, String reason, long retryAfterSeconds) {
+            this.limits = limits;
+            this.reason = reason;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public boolean isAdmitted() {
+            return reason == null;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        // Call exactly once per admitted request
+        public void release() {
+            if (limits != null) {
+                limits.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class TenantLimits {
+
+        // Registry record the quotas were read from, compared by identity
+        private final Tenant source;
+        private final RateLimit reads;
+        private final RateLimit writes;
+        private final int maxConcurrent;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private TenantLimits(Tenant source, RateLimit reads, RateLimit writes, int maxConcurrent) {
+            this.source = source;
+            this.reads = reads;
+            this.writes = writes;
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        private boolean tryEnter() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= maxConcurrent) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Token bucket kept as a single "theoretical arrival time" (the GCRA form), so taking a token is one CAS.
+     * Each request pushes the time forward by one emission interval; a request that would push it more than
+     * a full bucket ahead of now is rejected, and the overshoot is how long the caller has to wait.
+     */
+    private static final class RateLimit {
+
+        private final long intervalNanos;
+        private final long bucketNanos;
+        private final AtomicLong theoreticalArrival;
+
+        private RateLimit(int perSecond, int burstSeconds) {
+            this.intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.bucketNanos = intervalNanos * Math.max(1L, (long) perSecond * burstSeconds);
+            this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        }
+
+        // Returns 0 when a token was taken, otherwise the nanos until one is available
+        private long tryTake(long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = (current - now < 0 ? now : current) + intervalNanos;
+                long overshoot = next - now - bucketNanos;
+                if (overshoot > 0) {
+                    return overshoot;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.inventory.microservice.config;
+
+import com.inventory.microservice.entity.Tenant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the connection pools of every active tenant in parallel once the application is up. The
+ * tenants are already routed to their own schema by {@link TenantRegistry} when it loads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantRoutingBootstrap {
+
+    private final TenantRegistry tenantRegistry;
+
+    @Value("${multitenancy.bootstrap.parallelism:8}")
+    private int parallelism;
+
+    @Value("${multitenancy.bootstrap.warm-pools:true}")
+    private boolean warmPools;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmActiveTenants() {
+        long start = System.currentTimeMillis();
+        List<Tenant> tenants = tenantRegistry.getActiveTenants();
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            CompletableFuture<?>[] warmups = tenants.stream()
+                    .map(tenant -> CompletableFuture.runAsync(() -> {
+                        if (!warm(tenant)) {
+                            failed.incrementAndGet();
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(warmups).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        log.info("Warmed {} active tenants in {} ms ({} failed to warm)",
+                tenants.size(), System.currentTimeMillis() - start, failed.get());
+    }
+
+    private boolean warm(Tenant tenant) {
+        DataSource dataSource = tenantRegistry.find(tenant.getTenantId())
+                .map(TenantRegistry.RegisteredTenant::dataSource)
+                .orElse(null);
+        if (!warmPools || dataSource == null) {
+            return true;
+        }
+        try {
+            // Checking a connection out opens the pool; handing it straight back keeps it warm
+            Connection connection = dataSource.getConnection();
+            connection.close();
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not warm connection pool for tenant: {}", tenant.getTenantId(), e);
+            return false;
+        }
+    }
+}
@@ -1,17 +1,43 @@
 package com.inventory.microservice.controller;
 
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.AvailableToPromise;
+import com.inventory.microservice.dto.BatchStockUpdateRequest;
+import com.inventory.microservice.dto.BatchStockUpdateResponse;
 import com.inventory.microservice.dto.CreateProductRequest;
+import com.inventory.microservice.dto.CursorPage;
+import com.inventory.microservice.dto.ProductImportResult;
+import com.inventory.microservice.dto.ProductSearchResponse;
+import com.inventory.microservice.dto.StockAsOf;
+import com.inventory.microservice.dto.StockMovementSummary;
 import com.inventory.microservice.dto.UpdateStockRequest;
 import com.inventory.microservice.entity.Product;
 import com.inventory.microservice.entity.StockAdjustment;
+import com.inventory.microservice.importer.ProductImportFormat;
+import com.inventory.microservice.service.LowStockNotifier;
+import com.inventory.microservice.service.ProductImportService;
+import com.inventory.microservice.service.ProductSearchService;
 import com.inventory.microservice.service.ProductService;
+import com.inventory.microservice.service.ReservationService;
+import com.inventory.microservice.service.StockAsOfService;
+import com.inventory.microservice.service.StockSummaryService;
+import com.inventory.microservice.service.StockUpdateDispatcher;
+import com.inventory.microservice.service.SummaryGranularity;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,7 +46,17 @@ import java.util.List;
 @Slf4j
 public class ProductController {
 
+    // Keyset pagination: pass the header value back as ?after= to fetch the next page
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ProductService productService;
+    private final StockUpdateDispatcher stockUpdateDispatcher;
+    private final LowStockNotifier lowStockNotifier;
+    private final StockSummaryService stockSummaryService;
+    private final StockAsOfService stockAsOfService;
+    private final ReservationService reservationService;
+    private final ProductSearchService productSearchService;
+    private final ProductImportService productImportService;
 
     @PostMapping
     public ResponseEntity<Product> createProduct(@Valid @RequestBody CreateProductRequest request) {
@@ -32,18 +68,71 @@ public class ProductController {
     @GetMapping
     public ResponseEntity<List<Product>> getAllProducts(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
 
-        List<Product> products;
+        CursorPage<Product> products;
         if (category != null && !category.isEmpty()) {
-            products = productService.getProductsByCategory(category);
+            products = productService.getProductsByCategory(category, after, limit);
         } else if (activeOnly) {
-            products = productService.getActiveProducts();
+            products = productService.getActiveProducts(after, limit);
         } else {
-            products = productService.getAllProducts();
+            products = productService.getAllProducts(after, limit);
         }
 
-        return ResponseEntity.ok(products);
+        return withCursor(products);
+    }
+
+    // Full-text search over SKU, name, category and description with facet counts; pages are zero-based
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) BigDecimal priceMin,
+            @RequestParam(required = false) BigDecimal priceMax,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productSearchService.search(q, category, inStock, priceMin, priceMax, page, size));
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<String> rebuildSearchIndex() {
+        log.info("Request to rebuild product search index for tenant: {}", TenantContext.getCurrentTenant());
+        int indexed = productSearchService.rebuild();
+        return ResponseEntity.ok("Search index rebuilt with " + indexed + " products");
+    }
+
+    // Streams the request body (CSV with a header row, or NDJSON) and upserts products by SKU
+    @PostMapping("/import")
+    public ResponseEntity<ProductImportResult> importProducts(
+            InputStream body,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = "Content-Type", required = false) String contentType) {
+        ProductImportFormat importFormat = ProductImportFormat.resolve(format, contentType);
+        log.info("Request to import products as {} for tenant: {}", importFormat, TenantContext.getCurrentTenant());
+        return ResponseEntity.ok(productImportService.importProducts(body, importFormat));
+    }
+
+    // Progress of running imports and results of recent ones
+    @GetMapping("/import")
+    public ResponseEntity<List<ProductImportResult>> getImports() {
+        return ResponseEntity.ok(productImportService.getImports());
+    }
+
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<ProductImportResult> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(productImportService.getImport(importId));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        String tenantId = TenantContext.getCurrentTenant();
+        log.info("Request to export products for tenant: {}", tenantId);
+        StreamingResponseBody body = out -> TenantContext.runInTenant(tenantId,
+                () -> productService.exportProducts(out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -59,9 +148,25 @@ public class ProductController {
     }
 
     @GetMapping("/reorder-needed")
-    public ResponseEntity<List<Product>> getProductsNeedingReorder() {
-        List<Product> products = productService.getProductsNeedingReorder();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<Product>> getProductsNeedingReorder(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<Product> products = productService.getProductsNeedingReorder(after, limit);
+        return withCursor(products);
+    }
+
+    // Server-sent events for products crossing their reorder level, pushed as the stock write commits
+    @GetMapping(value = "/reorder-needed/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReorderEvents() {
+        String tenantId = TenantContext.getCurrentTenant();
+        log.info("Request to stream low-stock events for tenant: {}", tenantId);
+        return lowStockNotifier.subscribe(tenantId);
+    }
+
+    // Stock minus the units held by active reservations
+    @GetMapping("/{id}/available")
+    public ResponseEntity<AvailableToPromise> getAvailableToPromise(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.getAvailableToPromise(id));
     }
 
     @PutMapping("/{id}")
@@ -78,14 +183,58 @@ public class ProductController {
             @PathVariable Long id,
             @Valid @RequestBody UpdateStockRequest request) {
         log.info("Request to update stock for product: {}", id);
-        Product product = productService.updateStock(id, request);
+        Product product = stockUpdateDispatcher.updateStock(id, request);
         return ResponseEntity.ok(product);
     }
 
+    @PostMapping("/stock/batch")
+    public ResponseEntity<BatchStockUpdateResponse> updateStockBatch(
+            @Valid @RequestBody BatchStockUpdateRequest request) {
+        log.info("Request to apply batch of {} stock updates", request.getItems().size());
+        BatchStockUpdateResponse response = productService.updateStockBatch(request.getItems());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}/stock-history")
-    public ResponseEntity<List<StockAdjustment>> getStockHistory(@PathVariable Long id) {
-        List<StockAdjustment> history = productService.getStockHistory(id);
-        return ResponseEntity.ok(history);
+    public ResponseEntity<List<StockAdjustment>> getStockHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        CursorPage<StockAdjustment> history = productService.getStockHistory(id, after, limit, from, to);
+        return withCursor(history);
+    }
+
+    @GetMapping("/{id}/stock-summary")
+    public ResponseEntity<List<StockMovementSummary>> getStockSummary(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "DAY") SummaryGranularity granularity) {
+        return ResponseEntity.ok(stockSummaryService.getProductSummary(id, from, to, granularity));
+    }
+
+    @GetMapping("/{id}/stock-as-of")
+    public ResponseEntity<StockAsOf> getStockAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(stockAsOfService.getStockAsOf(id, at));
+    }
+
+    @GetMapping("/stock-as-of")
+    public ResponseEntity<List<StockAsOf>> getCategoryStockAsOf(
+            @RequestParam String category,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(stockAsOfService.getCategoryStockAsOf(category, at));
+    }
+
+    @GetMapping(value = "/{id}/stock-history/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStockHistory(@PathVariable Long id) {
+        String tenantId = TenantContext.getCurrentTenant();
+        StreamingResponseBody body = out -> TenantContext.runInTenant(tenantId,
+                () -> productService.exportStockHistory(id, out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -94,4 +243,12 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.ok("Product deleted successfully");
     }
+
+    private static <T> ResponseEntity<List<T>> withCursor(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.items());
+    }
 }
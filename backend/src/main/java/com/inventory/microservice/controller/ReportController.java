@@ -0,0 +1,49 @@
+package com.inventory.microservice.controller;
+
+import com.inventory.microservice.dto.StockMovementSummary;
+import com.inventory.microservice.entity.InventorySnapshot;
+import com.inventory.microservice.service.InventorySnapshotService;
+import com.inventory.microservice.service.StockSummaryService;
+import com.inventory.microservice.service.SummaryGranularity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Slf4j
+public class ReportController {
+
+    private final InventorySnapshotService inventorySnapshotService;
+    private final StockSummaryService stockSummaryService;
+
+    @GetMapping("/inventory-snapshots")
+    public ResponseEntity<List<InventorySnapshot>> getInventorySnapshots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<InventorySnapshot> snapshots = inventorySnapshotService.getSnapshots(date);
+        return ResponseEntity.ok(snapshots);
+    }
+
+    @GetMapping("/stock-summary")
+    public ResponseEntity<List<StockMovementSummary>> getStockSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "DAY") SummaryGranularity granularity) {
+        return ResponseEntity.ok(stockSummaryService.getTenantSummary(from, to, granularity));
+    }
+
+    @PostMapping("/stock-summary/rebuild")
+    public ResponseEntity<String> rebuildStockSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Request to rebuild stock summary from {} to {}", from, to);
+        int rows = stockSummaryService.rebuild(from, to);
+        return ResponseEntity.ok("Stock summary rebuilt with " + rows + " rows");
+    }
+}
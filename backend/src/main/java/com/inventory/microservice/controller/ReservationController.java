@@ -0,0 +1,45 @@
+package com.inventory.microservice.controller;
+
+import com.inventory.microservice.dto.CreateReservationRequest;
+import com.inventory.microservice.dto.ReservationResponse;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.service.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody CreateReservationRequest request) {
+        log.info("Request to reserve {} of product: {}", request.getQuantity(), request.getProductId());
+        ReservationResponse reservation = reservationService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @GetMapping("/{holdId}")
+    public ResponseEntity<ReservationResponse> getReservation(@PathVariable String holdId) {
+        return ResponseEntity.ok(reservationService.getReservation(holdId));
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<Product> confirm(@PathVariable String holdId) {
+        log.info("Request to confirm reservation: {}", holdId);
+        return ResponseEntity.ok(reservationService.confirm(holdId));
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<ReservationResponse> release(@PathVariable String holdId) {
+        log.info("Request to release reservation: {}", holdId);
+        return ResponseEntity.ok(reservationService.release(holdId));
+    }
+}
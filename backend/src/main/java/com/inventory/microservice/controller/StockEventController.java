@@ -0,0 +1,31 @@
+package com.inventory.microservice.controller;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.entity.StockEvent;
+import com.inventory.microservice.service.StockEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stock-events")
+@RequiredArgsConstructor
+@Slf4j
+public class StockEventController {
+
+    private final StockEventService stockEventService;
+
+    // Tail with ?after=<sequenceNumber of the last event received>; waitMs > 0 long-polls when nothing is new
+    @GetMapping
+    public DeferredResult<List<StockEvent>> getStockEvents(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false, defaultValue = "0") long waitMs) {
+        String tenantId = TenantContext.getCurrentTenant();
+        log.debug("Request for stock events of tenant: {} after: {}", tenantId, after);
+        return stockEventService.awaitEvents(tenantId, after, limit, waitMs);
+    }
+}
@@ -1,6 +1,10 @@
 package com.inventory.microservice.controller;
 
 import com.inventory.microservice.dto.CreateTenantRequest;
+import com.inventory.microservice.dto.ProductCacheStats;
+import com.inventory.microservice.dto.TenantMigrationStatus;
+import com.inventory.microservice.dto.TenantPoolStats;
+import com.inventory.microservice.dto.UpdateTenantQuotaRequest;
 import com.inventory.microservice.entity.Tenant;
 import com.inventory.microservice.service.TenantService;
 import jakarta.validation.Valid;
@@ -33,12 +37,43 @@ public class TenantController {
         return ResponseEntity.ok(tenants);
     }
 
+    @GetMapping("/pools")
+    public ResponseEntity<List<TenantPoolStats>> getConnectionPoolStats() {
+        return ResponseEntity.ok(tenantService.getConnectionPoolStats());
+    }
+
+    @GetMapping("/product-cache")
+    public ResponseEntity<List<ProductCacheStats>> getProductCacheStats() {
+        return ResponseEntity.ok(tenantService.getProductCacheStats());
+    }
+
+    @GetMapping("/migrations")
+    public ResponseEntity<List<TenantMigrationStatus>> getMigrationStatuses() {
+        return ResponseEntity.ok(tenantService.getMigrationStatuses());
+    }
+
+    // maintenance=true also applies migrations that block writes while they rebuild large tables
+    @PostMapping("/migrations")
+    public ResponseEntity<String> startSchemaMigration(
+            @RequestParam(required = false, defaultValue = "false") boolean maintenance) {
+        if (!tenantService.startSchemaMigration(maintenance)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A schema migration is already running");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body("Schema migration started");
+    }
+
     @GetMapping("/{tenantId}")
     public ResponseEntity<Tenant> getTenantById(@PathVariable String tenantId) {
         Tenant tenant = tenantService.getTenantById(tenantId);
         return ResponseEntity.ok(tenant);
     }
 
+    @PutMapping("/{tenantId}/quotas")
+    public ResponseEntity<Tenant> updateQuotas(@PathVariable String tenantId,
+                                               @Valid @RequestBody UpdateTenantQuotaRequest request) {
+        return ResponseEntity.ok(tenantService.updateQuotas(tenantId, request));
+    }
+
     @DeleteMapping("/{tenantId}")
     public ResponseEntity<String> deactivateTenant(@PathVariable String tenantId) {
         tenantService.deactivateTenant(tenantId);
@@ -0,0 +1,9 @@
+package com.inventory.microservice.dto;
+
+public record AvailableToPromise(
+        Long productId,
+        int stockQuantity,
+        long reservedQuantity,
+        long availableQuantity
+) {
+}
@@ -0,0 +1,24 @@
+package com.inventory.microservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class BatchStockUpdateItem extends UpdateStockRequest {
+
+    // Either productId or sku identifies the product; productId wins when both are present
+    private Long productId;
+
+    private String sku;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either productId or sku is required")
+    public boolean isKeyed() {
+        return productId != null || (sku != null && !sku.isBlank());
+    }
+}
@@ -0,0 +1,21 @@
+package com.inventory.microservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockUpdateRequest {
+
+    @NotEmpty(message = "At least one stock update is required")
+    @Size(max = 1000, message = "A batch may contain at most 1000 stock updates")
+    @Valid
+    private List<BatchStockUpdateItem> items;
+}
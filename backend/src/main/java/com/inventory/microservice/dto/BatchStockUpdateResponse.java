@@ -0,0 +1,6 @@
+package com.inventory.microservice.dto;
+
+import java.util.List;
+
+public record BatchStockUpdateResponse(int applied, int failed, List<StockUpdateItemResult> results) {
+}
@@ -0,0 +1,19 @@
+package com.inventory.microservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-category aggregate computed by {@code ProductRepository.summarizeByCategory()}.
+ */
+public interface CategoryStockSummary {
+
+    String getCategory();
+
+    Long getTotalProducts();
+
+    Long getActiveProducts();
+
+    Long getBelowReorderProducts();
+
+    BigDecimal getInventoryValue();
+}
@@ -0,0 +1,24 @@
+package com.inventory.microservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateReservationRequest {
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Falls back to inventory.reservations.default-ttl-seconds
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    private Integer ttlSeconds;
+}
@@ -0,0 +1,9 @@
+package com.inventory.microservice.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page. {@code nextCursor} is the id to pass as {@code after} for the next page, or null on the last page.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+}
@@ -0,0 +1,17 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Rollup totals of one adjustment type on one day, summed over the products in scope.
+ */
+public interface DailyStockMovement {
+
+    LocalDate getMovementDate();
+
+    String getAdjustmentType();
+
+    Long getTotalQuantity();
+
+    Long getAdjustmentCount();
+}
@@ -0,0 +1,4 @@
+package com.inventory.microservice.dto;
+
+public record ImportRowError(long line, String sku, String message) {
+}
@@ -0,0 +1,16 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record JobRunSummary(
+        String jobName,
+        LocalDateTime startedAt,
+        long durationMs,
+        long succeeded,
+        long failed,
+        long timedOut,
+        long skipped,
+        List<TenantJobResult> tenants
+) {
+}
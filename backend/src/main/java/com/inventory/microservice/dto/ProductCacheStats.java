@@ -0,0 +1,11 @@
+package com.inventory.microservice.dto;
+
+public record ProductCacheStats(
+        String tenantId,
+        long size,
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        double hitRate
+) {
+}
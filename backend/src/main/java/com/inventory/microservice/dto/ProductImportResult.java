@@ -0,0 +1,18 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ProductImportResult(
+        String importId,
+        String format,
+        String status,
+        long rowsRead,
+        long created,
+        long updated,
+        long failed,
+        List<ImportRowError> errors,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.inventory.microservice.dto;
+
+import com.inventory.microservice.entity.Product;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProductSearchResponse(
+        List<Product> items,
+        long total,
+        int page,
+        int size,
+        Map<String, Long> categoryCounts,
+        long inStockCount,
+        long outOfStockCount
+) {
+}
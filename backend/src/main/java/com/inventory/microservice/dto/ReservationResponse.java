@@ -0,0 +1,13 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDateTime;
+
+public record ReservationResponse(
+        String holdId,
+        Long productId,
+        int quantity,
+        String status,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt
+) {
+}
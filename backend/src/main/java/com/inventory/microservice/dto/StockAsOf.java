@@ -0,0 +1,12 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDateTime;
+
+public record StockAsOf(
+        Long productId,
+        String sku,
+        LocalDateTime asOf,
+        int stockQuantity,
+        LocalDateTime snapshotAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDate;
+
+public record StockMovementSummary(
+        LocalDate periodStart,
+        String adjustmentType,
+        long totalQuantity,
+        long adjustmentCount
+) {
+}
@@ -0,0 +1,22 @@
+package com.inventory.microservice.dto;
+
+public record StockUpdateItemResult(
+        int index,
+        Long productId,
+        String sku,
+        Status status,
+        Integer previousQuantity,
+        Integer newQuantity,
+        String message
+) {
+
+    public enum Status {
+        APPLIED,
+        NOT_FOUND,
+        INSUFFICIENT_STOCK
+    }
+
+    public boolean applied() {
+        return status == Status.APPLIED;
+    }
+}
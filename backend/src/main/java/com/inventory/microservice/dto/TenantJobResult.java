@@ -0,0 +1,12 @@
+package com.inventory.microservice.dto;
+
+public record TenantJobResult(String tenantId, Status status, long durationMs, String message) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT,
+        // The tenant's task from an earlier run had not returned yet, or its schema is not migrated yet
+        SKIPPED
+    }
+}
@@ -0,0 +1,21 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDateTime;
+
+public record TenantMigrationStatus(
+        String tenantId,
+        String schemaName,
+        State state,
+        int appliedVersion,
+        int targetVersion,
+        String message,
+        LocalDateTime updatedAt
+) {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+}
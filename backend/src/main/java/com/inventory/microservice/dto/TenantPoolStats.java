@@ -0,0 +1,15 @@
+package com.inventory.microservice.dto;
+
+import java.time.LocalDateTime;
+
+public record TenantPoolStats(
+        String tenantId,
+        boolean open,
+        int activeConnections,
+        int idleConnections,
+        int totalConnections,
+        int threadsAwaitingConnection,
+        int maximumPoolSize,
+        LocalDateTime lastUsedAt
+) {
+}
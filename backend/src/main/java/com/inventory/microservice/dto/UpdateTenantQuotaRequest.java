@@ -0,0 +1,22 @@
+package com.inventory.microservice.dto;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A null quota falls back to the configured default
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateTenantQuotaRequest {
+
+    @Min(value = 1, message = "Read requests per second must be at least 1")
+    private Integer readRequestsPerSecond;
+
+    @Min(value = 1, message = "Write requests per second must be at least 1")
+    private Integer writeRequestsPerSecond;
+
+    @Min(value = 1, message = "Max concurrent requests must be at least 1")
+    private Integer maxConcurrentRequests;
+}
@@ -0,0 +1,52 @@
+package com.inventory.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inventory_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private Long totalProducts;
+
+    @Column(nullable = false)
+    private Long activeProducts;
+
+    @Column(nullable = false)
+    private Long inactiveProducts;
+
+    @Column(nullable = false)
+    private Long belowReorderProducts;
+
+    // Sum of price * stock over active products, computed exactly in the database
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal inventoryValue;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,36 @@
+package com.inventory.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Product currently at or below its reorder level. Rows are added and removed as stock
+ * writes cross the threshold, so the set never has to be recomputed from the catalog. The stored
+ * stock quantity is as of flagging (or the last reorder level change); current stock is on the product.
+ */
+@Entity
+@Table(name = "low_stock_items")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockItem {
+
+    @Id
+    private Long productId;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer stockQuantity;
+
+    @Column(nullable = false)
+    private Integer reorderLevel;
+
+    @Column(nullable = false)
+    private LocalDateTime flaggedAt;
+}
@@ -1,9 +1,11 @@
 package com.inventory.microservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -37,6 +39,13 @@ public class Product {
     @Column(nullable = false)
     private Integer stockQuantity = 0;
 
+    // Held by active reservations; only changed by ProductRepository's conditional updates, and served
+    // fresh by the available-to-promise endpoint rather than with (possibly cached) products
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer reservedQuantity = 0;
+
     @Column(nullable = false)
     private Integer reorderLevel = 10;
 
@@ -0,0 +1,30 @@
+package com.inventory.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock of a product as of {@code snapshotAt}, derived from the previous snapshot plus the adjustments
+ * in between. Only written for products that changed since their last snapshot.
+ */
+@Entity
+@Table(name = "product_stock_snapshots")
+@IdClass(ProductStockSnapshotId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockSnapshot {
+
+    @Id
+    private Long productId;
+
+    @Id
+    private LocalDateTime snapshotAt;
+
+    @Column(nullable = false)
+    private Integer stockQuantity;
+}
@@ -0,0 +1,17 @@
+package com.inventory.microservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockSnapshotId implements Serializable {
+
+    private Long productId;
+    private LocalDateTime snapshotAt;
+}
@@ -42,6 +42,10 @@ public class StockAdjustment {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Set when the row was written through the stock adjustment journal
+    @Column(length = 36, unique = true)
+    private String journalId;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
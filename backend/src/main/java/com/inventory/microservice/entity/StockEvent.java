@@ -0,0 +1,57 @@
+package com.inventory.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row written in the same transaction as its {@link StockAdjustment}. The relay assigns
+ * {@code sequenceNumber} in the order rows become visible, which is the cursor consumers tail.
+ */
+@Entity
+@Table(name = "stock_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private String productSku;
+
+    @Column(nullable = false)
+    private String adjustmentType;
+
+    @Column(nullable = false)
+    private Integer quantityChange;
+
+    @Column(nullable = false)
+    private Integer previousQuantity;
+
+    @Column(nullable = false)
+    private Integer newQuantity;
+
+    @Column(length = 500)
+    private String reason;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Set when the row was written through the stock adjustment journal
+    @Column(length = 36, unique = true)
+    private String journalId;
+
+    @Column(unique = true)
+    private Long sequenceNumber;
+
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,36 @@
+package com.inventory.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Active stock reservation. Its quantity is counted in the product's {@code reservedQuantity}; the row
+ * is deleted when the hold is confirmed, released or expires, and that conditional delete is what
+ * settles the hold exactly once.
+ */
+@Entity
+@Table(name = "stock_holds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHold {
+
+    @Id
+    private String holdId;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
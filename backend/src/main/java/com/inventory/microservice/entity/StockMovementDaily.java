@@ -0,0 +1,40 @@
+package com.inventory.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Net quantity and number of stock adjustments per product, day and adjustment type.
+ * Maintained as adjustments are inserted; rebuildable from {@code stock_adjustments}.
+ */
+@Entity
+@Table(name = "stock_movement_daily")
+@IdClass(StockMovementDailyId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDaily {
+
+    @Id
+    private Long productId;
+
+    @Id
+    private LocalDate movementDate;
+
+    @Id
+    @Column(length = 50)
+    private String adjustmentType;
+
+    @Column(nullable = false)
+    private String productSku;
+
+    @Column(nullable = false)
+    private Long totalQuantity;
+
+    @Column(nullable = false)
+    private Long adjustmentCount;
+}
@@ -0,0 +1,18 @@
+package com.inventory.microservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDailyId implements Serializable {
+
+    private Long productId;
+    private LocalDate movementDate;
+    private String adjustmentType;
+}
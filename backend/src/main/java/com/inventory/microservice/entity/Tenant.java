@@ -30,6 +30,13 @@ public class Tenant {
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Request quotas enforced by TenantRequestLimiter; null means the configured default
+    private Integer readRequestsPerSecond;
+
+    private Integer writeRequestsPerSecond;
+
+    private Integer maxConcurrentRequests;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
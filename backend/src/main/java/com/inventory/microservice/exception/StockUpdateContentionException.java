@@ -0,0 +1,19 @@
+package com.inventory.microservice.exception;
+
+import lombok.Getter;
+
+/**
+ * A stock update gave up waiting behind other writers of the same product, queued for its turn or for
+ * its coalesced batch to be written. The product is busy rather than the request wrong, so it maps to
+ * 409 with a Retry-After hint.
+ */
+@Getter
+public class StockUpdateContentionException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public StockUpdateContentionException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,149 @@
+package com.inventory.microservice.importer;
+
+import com.inventory.microservice.dto.CreateProductRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row. Columns are matched by name ignoring case, spaces and underscores
+ * (so {@code stock_quantity} and {@code stockQuantity} both work); unknown columns are ignored.
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvProductImportReader implements ProductImportReader {
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private Map<String, Integer> columns;
+    private long lineNumber;
+    // Line the last record read starts on
+    private long recordLine;
+
+    CsvProductImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = indexColumns(header);
+        }
+
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        String sku = value(values, "sku");
+        try {
+            CreateProductRequest request = new CreateProductRequest();
+            request.setSku(sku);
+            request.setName(value(values, "name"));
+            request.setDescription(value(values, "description"));
+            request.setCategory(value(values, "category"));
+            String price = value(values, "price");
+            request.setPrice(price != null ? new BigDecimal(price) : null);
+            String stockQuantity = value(values, "stockquantity");
+            request.setStockQuantity(stockQuantity != null ? Integer.valueOf(stockQuantity) : null);
+            String reorderLevel = value(values, "reorderlevel");
+            if (reorderLevel != null) {
+                request.setReorderLevel(Integer.valueOf(reorderLevel));
+            }
+            return ProductImportRow.parsed(recordLine, request);
+        } catch (NumberFormatException e) {
+            return ProductImportRow.failed(recordLine, sku, "Invalid number: " + e.getMessage());
+        }
+    }
+
+    // Reads one record, which may span several lines when a quoted field contains line breaks
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        recordLine = lineNumber;
+
+        List<String> values = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String continuation = reader.readLine();
+                if (continuation == null) {
+                    throw new IOException("Unterminated quoted field starting before line " + lineNumber);
+                }
+                lineNumber++;
+                field.append('\n');
+                line = continuation;
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("sku")) {
+            throw new RuntimeException("CSV header must include a sku column");
+        }
+        return columns;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,44 @@
+package com.inventory.microservice.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.microservice.dto.CreateProductRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+// One CreateProductRequest JSON object per line; blank lines are skipped
+class NdjsonProductImportReader implements ProductImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    NdjsonProductImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            return ProductImportRow.parsed(lineNumber, objectMapper.readValue(line, CreateProductRequest.class));
+        } catch (JsonProcessingException e) {
+            return ProductImportRow.failed(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
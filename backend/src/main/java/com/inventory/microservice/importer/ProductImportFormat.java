@@ -0,0 +1,26 @@
+package com.inventory.microservice.importer;
+
+import java.util.Locale;
+
+public enum ProductImportFormat {
+    CSV,
+    NDJSON;
+
+    // Explicit format wins; otherwise the content type (or file name) decides, defaulting to CSV
+    public static ProductImportFormat resolve(String format, String typeHint) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported import format: " + format + ". Use CSV or NDJSON");
+            }
+        }
+        if (typeHint != null) {
+            String type = typeHint.toLowerCase(Locale.ROOT);
+            if (type.contains("json")) {
+                return NDJSON;
+            }
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,86 @@
+package com.inventory.microservice.importer;
+
+import com.inventory.microservice.dto.ImportRowError;
+import com.inventory.microservice.dto.ProductImportResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of one running import, readable while the import is in progress. Only the first
+ * {@code maxReportedErrors} row errors are kept; the failed count covers all of them.
+ */
+public class ProductImportProgress {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String importId;
+    private final String tenantId;
+    private final ProductImportFormat format;
+    private final int maxReportedErrors;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+
+    public ProductImportProgress(String importId, String tenantId, ProductImportFormat format, int maxReportedErrors) {
+        this.importId = importId;
+        this.tenantId = tenantId;
+        this.format = format;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void rowsWritten(int createdRows, int updatedRows) {
+        created.addAndGet(createdRows);
+        updated.addAndGet(updatedRows);
+    }
+
+    public void rowFailed(long line, String sku, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowError(line, sku, message));
+            }
+        }
+    }
+
+    public void finish(Status finalStatus) {
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public ProductImportResult toResult() {
+        List<ImportRowError> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return new ProductImportResult(importId, format.name(), status.name(), rowsRead.get(), created.get(),
+                updated.get(), failed.get(), reported, startedAt, finishedAt);
+    }
+}
@@ -0,0 +1,27 @@
+package com.inventory.microservice.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads import records one at a time from a stream; only the current record is held in memory.
+ */
+public interface ProductImportReader extends Closeable {
+
+    // Returns null at the end of the input
+    ProductImportRow next() throws IOException;
+
+    static ProductImportReader open(InputStream in, ProductImportFormat format, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        return switch (format) {
+            case CSV -> new CsvProductImportReader(reader);
+            case NDJSON -> new NdjsonProductImportReader(reader, objectMapper);
+        };
+    }
+}
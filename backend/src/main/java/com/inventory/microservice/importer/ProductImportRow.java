@@ -0,0 +1,18 @@
+package com.inventory.microservice.importer;
+
+import com.inventory.microservice.dto.CreateProductRequest;
+
+/**
+ * One parsed input record. {@code line} is where the record starts in the input; a row that could not be
+ * parsed has a null request and a non-null {@code error}.
+ */
+public record ProductImportRow(long line, CreateProductRequest request, String sku, String error) {
+
+    static ProductImportRow parsed(long line, CreateProductRequest request) {
+        return new ProductImportRow(line, request, request.getSku(), null);
+    }
+
+    static ProductImportRow failed(long line, String sku, String error) {
+        return new ProductImportRow(line, null, sku, error);
+    }
+}
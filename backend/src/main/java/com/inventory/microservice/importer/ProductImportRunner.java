@@ -0,0 +1,74 @@
+package com.inventory.microservice.importer;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.ProductImportResult;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import com.inventory.microservice.service.ProductImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line import: start the application with
+ * {@code --inventory.import.file=products.csv --inventory.import.tenant=<tenantId>} to import the file
+ * at startup. The process exits when the import finishes (status 1 if any row failed) unless
+ * {@code inventory.import.exit-on-completion=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportRunner implements ApplicationRunner {
+
+    private final ProductImportService productImportService;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${inventory.import.file}")
+    private String file;
+
+    @Value("${inventory.import.tenant}")
+    private String tenantId;
+
+    @Value("${inventory.import.format:}")
+    private String format;
+
+    @Value("${inventory.import.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path path = Paths.get(file);
+        ProductImportFormat importFormat = ProductImportFormat.resolve(format, path.getFileName().toString());
+        log.info("Importing {} as {} for tenant: {}", path, importFormat, tenantId);
+
+        // Runs before the startup migration of existing tenants has begun
+        tenantSchemaMigrator.ensureReady(tenantId);
+        ProductImportResult result;
+        TenantContext.setCurrentTenant(tenantId);
+        try (InputStream in = Files.newInputStream(path)) {
+            result = productImportService.importProducts(in, importFormat);
+        } finally {
+            TenantContext.clear();
+        }
+        result.errors().forEach(error ->
+                log.warn("Line {} (SKU {}): {}", error.line(), error.sku(), error.message()));
+
+        if (exitOnCompletion) {
+            int exitCode = result.failed() > 0 ? 1 : 0;
+            System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.inventory.microservice.journal;
+
+import com.inventory.microservice.entity.StockAdjustment;
+
+/**
+ * Appended adjustment awaiting insertion, together with the segment file that holds it. An entry is
+ * unconfirmed when it was replayed without a COMMIT or CANCEL record; it is inserted only if its
+ * transaction left a {@code journal_commits} row.
+ */
+public record JournalEntry(String tenantId, StockAdjustment adjustment, JournalSegment segment, boolean confirmed) {
+}
@@ -0,0 +1,18 @@
+package com.inventory.microservice.journal;
+
+import com.inventory.microservice.entity.StockAdjustment;
+
+/**
+ * One line of a journal segment. An ADJUSTMENT is appended before its transaction commits, so on its
+ * own it proves nothing; a COMMIT record marks one whose transaction committed and a CANCEL record one
+ * whose transaction rolled back. Replay inserts adjustments that have a COMMIT, skips those with a
+ * CANCEL and settles the rest against the tenant's {@code journal_commits} table.
+ */
+record JournalRecord(Type type, String tenantId, String journalId, StockAdjustment adjustment) {
+
+    enum Type {
+        ADJUSTMENT,
+        COMMIT,
+        CANCEL
+    }
+}
@@ -0,0 +1,82 @@
+package com.inventory.microservice.journal;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only journal file. It can be deleted once it is sealed and every adjustment in it has
+ * been inserted or cancelled, and only after all older segments are gone.
+ */
+public final class JournalSegment {
+
+    private final long index;
+    private final Path path;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile FileChannel channel;
+    private volatile boolean sealed;
+
+    private JournalSegment(long index, Path path, FileChannel channel, boolean sealed) {
+        this.index = index;
+        this.path = path;
+        this.channel = channel;
+        this.sealed = sealed;
+    }
+
+    static JournalSegment create(Path directory, long index) throws IOException {
+        Path path = directory.resolve(fileName(index));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        return new JournalSegment(index, path, channel, false);
+    }
+
+    // A segment left over from a previous run; it is only read, never appended to
+    static JournalSegment recovered(Path path, long index) {
+        return new JournalSegment(index, path, null, true);
+    }
+
+    static String fileName(long index) {
+        return String.format("journal-%020d.log", index);
+    }
+
+    long getIndex() {
+        return index;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    FileChannel getChannel() {
+        return channel;
+    }
+
+    AtomicInteger getOutstanding() {
+        return outstanding;
+    }
+
+    boolean isDone() {
+        return sealed && outstanding.get() == 0;
+    }
+
+    long size() throws IOException {
+        return channel != null ? channel.size() : Files.size(path);
+    }
+
+    // Forces and closes the channel; no more records are appended after this
+    void seal() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+        sealed = true;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,13 @@
+package com.inventory.microservice.journal;
+
+/**
+ * When appended journal records are forced to disk.
+ */
+public enum JournalSyncPolicy {
+    // fsync before the stock update commits; concurrent appends share one fsync
+    ALWAYS,
+    // fsync on a timer; a machine crash can lose the last sync-interval-ms of adjustments
+    INTERVAL,
+    // leave flushing to the OS; survives a process crash but not a machine crash
+    NONE
+}
@@ -0,0 +1,580 @@
+package com.inventory.microservice.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.entity.StockAdjustment;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import com.inventory.microservice.outbox.StockEventsWrittenEvent;
+import com.inventory.microservice.repository.StockAdjustmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal for stock adjustments. Stock updates append their adjustments here
+ * instead of inserting them, and a background flusher bulk-inserts committed entries into each
+ * tenant's {@code stock_adjustments}. Segments left behind by a crash are replayed on startup: entries
+ * with a COMMIT record are inserted, entries with a CANCEL record are dropped, and entries with neither
+ * (the process died around the database commit) are inserted only if the stock update's transaction
+ * wrote their {@code journal_commits} row. Journal ids make a replayed entry that was already inserted a no-op.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.stock.audit.mode", havingValue = "JOURNAL")
+@RequiredArgsConstructor
+@Slf4j
+public class StockAdjustmentJournal {
+
+    private final ObjectMapper objectMapper;
+    private final StockAdjustmentRepository stockAdjustmentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
+
+    // Must be local to this instance; two instances sharing a directory would replay each other's entries
+    @Value("${inventory.stock.audit.journal.directory:journal}")
+    private String directory;
+
+    @Value("${inventory.stock.audit.journal.sync-policy:ALWAYS}")
+    private JournalSyncPolicy syncPolicy;
+
+    @Value("${inventory.stock.audit.journal.sync-interval-ms:50}")
+    private long syncIntervalMs;
+
+    @Value("${inventory.stock.audit.journal.segment-size-bytes:67108864}")
+    private long segmentSizeBytes;
+
+    @Value("${inventory.stock.audit.journal.max-pending:50000}")
+    private int maxPending;
+
+    @Value("${inventory.stock.audit.journal.append-timeout-ms:2000}")
+    private long appendTimeoutMs;
+
+    @Value("${inventory.stock.audit.journal.batch-size:500}")
+    private int batchSize;
+
+    @Value("${inventory.stock.audit.journal.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    @Value("${inventory.stock.audit.journal.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${inventory.stock.audit.journal.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // Held across fsync; a lock rather than a monitor so waiting virtual threads do not pin their carriers
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Deque<JournalSegment> segments = new ArrayDeque<>();
+    private final BlockingQueue<JournalEntry> committed = new LinkedBlockingQueue<>();
+    // Appended or replayed entries not yet inserted (or cancelled), by journal id
+    private final Map<String, JournalEntry> pending = new ConcurrentHashMap<>();
+    private final AtomicLong syncedBytes = new AtomicLong();
+
+    private Path journalDirectory;
+    private TransactionTemplate transactionTemplate;
+    private Semaphore capacity;
+    private JournalSegment current;
+    private long writtenBytes;
+    private volatile boolean running;
+    private Thread flusher;
+    private ScheduledExecutorService syncer;
+
+    @PostConstruct
+    public void start() throws IOException {
+        journalDirectory = Paths.get(directory);
+        Files.createDirectories(journalDirectory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int replayed = replay();
+        // Replayed entries count against capacity; the semaphore may start negative
+        capacity = new Semaphore(maxPending - replayed);
+
+        long nextIndex = segments.isEmpty() ? 0 : segments.peekLast().getIndex() + 1;
+        current = JournalSegment.create(journalDirectory, nextIndex);
+        segments.addLast(current);
+        pruneSegments();
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "stock-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        if (syncPolicy == JournalSyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("Stock adjustment journal started in {} (sync policy: {}, replayed entries: {})",
+                journalDirectory.toAbsolutePath(), syncPolicy, replayed);
+    }
+
+    /**
+     * Appends adjustments for a tenant and, under the ALWAYS policy, waits until they are on disk.
+     * Blocks for up to append-timeout-ms when the flusher is behind, then fails the stock update.
+     */
+    public List<JournalEntry> append(String tenantId, List<StockAdjustment> adjustments) {
+        int count = adjustments.size();
+        acquireCapacity(count);
+
+        List<JournalEntry> entries = new ArrayList<>(count);
+        long end;
+        appendLock.lock();
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (StockAdjustment adjustment : adjustments) {
+                adjustment.setJournalId(UUID.randomUUID().toString());
+                lines.append(toLine(new JournalRecord(JournalRecord.Type.ADJUSTMENT, tenantId,
+                        adjustment.getJournalId(), adjustment)));
+            }
+            rollIfFull();
+            write(lines);
+            current.getOutstanding().addAndGet(count);
+            for (StockAdjustment adjustment : adjustments) {
+                JournalEntry entry = new JournalEntry(tenantId, adjustment, current, true);
+                entries.add(entry);
+                pending.put(adjustment.getJournalId(), entry);
+            }
+            end = writtenBytes;
+        } catch (IOException e) {
+            capacity.release(count);
+            throw new UncheckedIOException("Failed to append to stock journal", e);
+        } catch (RuntimeException e) {
+            capacity.release(count);
+            throw e;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (syncPolicy == JournalSyncPolicy.ALWAYS) {
+            syncUpTo(end);
+        }
+        return entries;
+    }
+
+    /**
+     * The writing transaction committed: records that, then hands the entries to the flusher. If the
+     * process dies before this record is on disk, replay finds the entries' {@code journal_commits}
+     * rows instead, so the record saves replay a database lookup rather than being needed for durability.
+     */
+    public void commit(List<JournalEntry> entries) {
+        if (!writeMarkers(JournalRecord.Type.COMMIT, entries)) {
+            log.warn("Failed to record committed stock journal entries; replay would settle them from journal_commits");
+        }
+        committed.addAll(entries);
+    }
+
+    // The writing transaction rolled back: the entries are dropped. Without the marker replay would find
+    // no journal_commits row for them and drop them as well
+    public void cancel(List<JournalEntry> entries) {
+        if (!writeMarkers(JournalRecord.Type.CANCEL, entries)) {
+            log.warn("Failed to record cancelled stock journal entries");
+        }
+        completed(entries);
+    }
+
+    private boolean writeMarkers(JournalRecord.Type type, List<JournalEntry> entries) {
+        long end;
+        appendLock.lock();
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (JournalEntry entry : entries) {
+                lines.append(toLine(new JournalRecord(type, entry.tenantId(), entry.adjustment().getJournalId(), null)));
+            }
+            rollIfFull();
+            write(lines);
+            end = writtenBytes;
+        } catch (IOException e) {
+            log.error("Failed to append {} records to stock journal", type, e);
+            return false;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (syncPolicy == JournalSyncPolicy.ALWAYS) {
+            try {
+                syncUpTo(end);
+            } catch (UncheckedIOException e) {
+                log.error("Failed to sync {} records of stock journal", type, e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return maxPending - capacity.availablePermits();
+    }
+
+    /**
+     * Oldest created_at among the tenant's adjustments that are not in {@code stock_adjustments} yet.
+     * Anything computed from the table as of that time or later may still change once they land.
+     */
+    public Optional<LocalDateTime> findOldestPendingCreatedAt(String tenantId) {
+        return pending.values().stream()
+                .filter(entry -> entry.tenantId().equals(tenantId))
+                .map(entry -> entry.adjustment().getCreatedAt())
+                .filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo);
+    }
+
+    private void acquireCapacity(int count) {
+        try {
+            if (!capacity.tryAcquire(count, appendTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Stock adjustment journal is full (" + maxPending +
+                        " pending adjustments). Try again later.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for stock journal capacity", e);
+        }
+    }
+
+    private String toLine(JournalRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record) + "\n";
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize stock journal record", e);
+        }
+    }
+
+    // Caller holds appendLock
+    private void write(CharSequence lines) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+        int length = buffer.remaining();
+        FileChannel channel = current.getChannel();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        writtenBytes += length;
+    }
+
+    // Caller holds appendLock
+    private void rollIfFull() throws IOException {
+        if (current.size() < segmentSizeBytes) {
+            return;
+        }
+        JournalSegment sealed = current;
+        sealed.seal();
+        syncedBytes.accumulateAndGet(writtenBytes, Math::max);
+        current = JournalSegment.create(journalDirectory, sealed.getIndex() + 1);
+        segments.addLast(current);
+        pruneSegments();
+    }
+
+    /**
+     * Group commit: whichever appender gets here first forces everything written so far, and the
+     * appenders that queued up behind it usually find their bytes already synced.
+     */
+    private void syncUpTo(long position) {
+        syncLock.lock();
+        try {
+            if (syncedBytes.get() >= position) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            appendLock.lock();
+            try {
+                channel = current.getChannel();
+                target = writtenBytes;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // Rolled over meanwhile; sealing forced the segment
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to sync stock journal", e);
+            }
+            syncedBytes.accumulateAndGet(target, Math::max);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            long position;
+            appendLock.lock();
+            try {
+                position = writtenBytes;
+            } finally {
+                appendLock.unlock();
+            }
+            syncUpTo(position);
+        } catch (RuntimeException e) {
+            log.error("Periodic stock journal sync failed", e);
+        }
+    }
+
+    private void runFlusher() {
+        while (running || !committed.isEmpty()) {
+            JournalEntry first;
+            try {
+                first = committed.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<JournalEntry> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            committed.drainTo(batch, batchSize - 1);
+            if (!flush(batch)) {
+                if (!running) {
+                    // Shutting down with the database unavailable; the journal keeps the rest for replay
+                    return;
+                }
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    // Inserts one batch per tenant; a failing tenant's entries are re-queued without holding up the rest.
+    // Entries replayed for a tenant whose schema is not migrated yet wait the same way
+    private boolean flush(List<JournalEntry> batch) {
+        Map<String, List<JournalEntry>> byTenant = new LinkedHashMap<>();
+        for (JournalEntry entry : batch) {
+            byTenant.computeIfAbsent(entry.tenantId(), key -> new ArrayList<>()).add(entry);
+        }
+
+        boolean allFlushed = true;
+        for (Map.Entry<String, List<JournalEntry>> tenantEntries : byTenant.entrySet()) {
+            String tenantId = tenantEntries.getKey();
+            List<JournalEntry> entries = tenantEntries.getValue();
+            if (!tenantSchemaMigrator.isReady(tenantId)) {
+                log.debug("Deferring {} journaled stock adjustments for tenant: {}; schema migration pending",
+                        entries.size(), tenantId);
+                committed.addAll(entries);
+                allFlushed = false;
+                continue;
+            }
+            try {
+                TenantContext.runInTenant(tenantId, () -> transactionTemplate.executeWithoutResult(status -> {
+                    List<StockAdjustment> adjustments = settle(tenantId, entries);
+                    if (!adjustments.isEmpty()) {
+                        stockAdjustmentRepository.insertJournaled(adjustments);
+                    }
+                }));
+                completed(entries);
+                eventPublisher.publishEvent(new StockEventsWrittenEvent(tenantId));
+            } catch (RuntimeException e) {
+                log.error("Failed to insert {} journaled stock adjustments for tenant: {}; will retry",
+                        entries.size(), tenantId, e);
+                committed.addAll(entries);
+                allFlushed = false;
+            }
+        }
+        return allFlushed;
+    }
+
+    // Unconfirmed entries are kept only if the stock update's transaction committed their journal_commits row
+    private List<StockAdjustment> settle(String tenantId, List<JournalEntry> entries) {
+        List<String> unconfirmed = entries.stream()
+                .filter(entry -> !entry.confirmed())
+                .map(entry -> entry.adjustment().getJournalId())
+                .toList();
+        Set<String> proven = unconfirmed.isEmpty()
+                ? Set.of()
+                : stockAdjustmentRepository.findJournalCommits(unconfirmed);
+        if (proven.size() < unconfirmed.size()) {
+            log.warn("Dropping {} replayed stock adjustments for tenant: {}; their transactions did not commit",
+                    unconfirmed.size() - proven.size(), tenantId);
+        }
+        return entries.stream()
+                .filter(entry -> entry.confirmed() || proven.contains(entry.adjustment().getJournalId()))
+                .map(JournalEntry::adjustment)
+                .toList();
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(retryDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void completed(List<JournalEntry> entries) {
+        for (JournalEntry entry : entries) {
+            entry.segment().getOutstanding().decrementAndGet();
+            pending.remove(entry.adjustment().getJournalId());
+        }
+        capacity.release(entries.size());
+
+        appendLock.lock();
+        try {
+            pruneSegments();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Caller holds appendLock. Deletes oldest-first so an ADJUSTMENT never outlives its COMMIT record
+    private void pruneSegments() {
+        while (!segments.isEmpty() && segments.peekFirst().isDone()) {
+            JournalSegment segment = segments.pollFirst();
+            try {
+                segment.delete();
+                log.debug("Deleted flushed stock journal segment: {}", segment.getPath().getFileName());
+            } catch (IOException e) {
+                log.warn("Failed to delete stock journal segment: {}", segment.getPath(), e);
+            }
+        }
+    }
+
+    private int replay() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(journalDirectory)) {
+            files = listing.filter(path -> path.getFileName().toString().matches("journal-\\d+\\.log"))
+                    .sorted()
+                    .toList();
+        }
+        if (files.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> committedIds = new HashSet<>();
+        Set<String> cancelledIds = new HashSet<>();
+        Map<JournalSegment, List<JournalRecord>> adjustmentsBySegment = new LinkedHashMap<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long index = Long.parseLong(name.substring("journal-".length(), name.length() - ".log".length()));
+            JournalSegment segment = JournalSegment.recovered(file, index);
+            List<JournalRecord> adjustments = new ArrayList<>();
+            readRecords(file, record -> {
+                if (record.type() == JournalRecord.Type.COMMIT) {
+                    committedIds.add(record.journalId());
+                } else if (record.type() == JournalRecord.Type.CANCEL) {
+                    cancelledIds.add(record.journalId());
+                } else if (record.type() == JournalRecord.Type.ADJUSTMENT) {
+                    adjustments.add(record);
+                }
+            });
+            segments.addLast(segment);
+            adjustmentsBySegment.put(segment, adjustments);
+        }
+
+        int replayed = 0;
+        int cancelled = 0;
+        int unconfirmed = 0;
+        for (Map.Entry<JournalSegment, List<JournalRecord>> segmentRecords : adjustmentsBySegment.entrySet()) {
+            JournalSegment segment = segmentRecords.getKey();
+            for (JournalRecord record : segmentRecords.getValue()) {
+                if (cancelledIds.contains(record.journalId())) {
+                    cancelled++;
+                    continue;
+                }
+                // Without a COMMIT the process died around the database commit; the flusher settles it
+                boolean confirmed = committedIds.contains(record.journalId());
+                if (!confirmed) {
+                    unconfirmed++;
+                }
+                segment.getOutstanding().incrementAndGet();
+                JournalEntry entry = new JournalEntry(record.tenantId(), record.adjustment(), segment, confirmed);
+                pending.put(record.journalId(), entry);
+                committed.add(entry);
+                replayed++;
+            }
+        }
+        if (cancelled > 0) {
+            log.info("Skipping {} journaled stock adjustments of rolled back transactions", cancelled);
+        }
+        if (unconfirmed > 0) {
+            log.warn("{} journaled stock adjustments have no commit record; checking journal_commits before inserting them",
+                    unconfirmed);
+        }
+        log.info("Replaying {} stock adjustments from {} journal segments", replayed, files.size());
+        return replayed;
+    }
+
+    private void readRecords(Path file, Consumer<JournalRecord> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    consumer.accept(objectMapper.readValue(line, JournalRecord.class));
+                } catch (IOException e) {
+                    // Typically a record torn by a crash mid-write
+                    log.warn("Skipping unreadable stock journal record {}:{}", file.getFileName(), lineNumber);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        flusher.join(shutdownTimeoutMs);
+        if (!committed.isEmpty()) {
+            log.warn("{} stock adjustments not yet inserted; they will be replayed from the journal on restart",
+                    committed.size());
+        }
+
+        appendLock.lock();
+        try {
+            current.seal();
+            pruneSegments();
+        } catch (IOException e) {
+            log.warn("Failed to close stock journal segment: {}", current.getPath(), e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
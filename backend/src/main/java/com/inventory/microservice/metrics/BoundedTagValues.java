@@ -0,0 +1,33 @@
+package com.inventory.microservice.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps the distinct values of one metric tag: the first {@code maxValues} values seen are kept and
+ * every later one is reported as {@code overflowValue}.
+ */
+public class BoundedTagValues {
+
+    private final int maxValues;
+    private final String overflowValue;
+    private final Set<String> values = ConcurrentHashMap.newKeySet();
+
+    public BoundedTagValues(int maxValues, String overflowValue) {
+        this.maxValues = maxValues;
+        this.overflowValue = overflowValue;
+    }
+
+    public String tagFor(String value) {
+        if (values.contains(value)) {
+            return value;
+        }
+        synchronized (values) {
+            if (values.size() < maxValues) {
+                values.add(value);
+                return value;
+            }
+        }
+        return overflowValue;
+    }
+}
@@ -0,0 +1,71 @@
+package com.inventory.microservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * The contention metrics of OPTIMISTIC stock updates: attempts that failed, attempts that lost a version
+ * conflict ({@code inventory.stock.contention.conflicts}) and the retries each update needed
+ * ({@code inventory.stock.contention.retries}), split by whether it recovered or gave up. Conflict and retry
+ * counts are tagged by the SKU that {@link com.inventory.microservice.service.StockUpdateRetrier} stores
+ * in the retry context under {@link #SKU_ATTRIBUTE}. Registered on the retrier's {@code RetryTemplate}.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockRetryMetricsListener implements RetryListener {
+
+    public static final String SKU_ATTRIBUTE = "stock.sku.tag";
+    public static final String SKU_TAG = "sku";
+
+    private final MeterRegistry meterRegistry;
+    private final TenantMetricTags tenantMetricTags;
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                 Throwable throwable) {
+        String tenant = tenantMetricTags.currentTenantTag();
+        Counter.builder("inventory.stock.update.failed.attempts")
+                .description("Stock update attempts that threw, retried or not")
+                .tag(TenantMetricTags.TAG, tenant)
+                .tag("exception", throwable.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        if (throwable instanceof OptimisticLockException || throwable instanceof ObjectOptimisticLockingFailureException) {
+            Counter.builder("inventory.stock.contention.conflicts")
+                    .description("Stock update attempts that lost a version conflict")
+                    .tag(TenantMetricTags.TAG, tenant)
+                    .tag(SKU_TAG, skuTag(context))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                               Throwable throwable) {
+        // getRetryCount() is the number of failed attempts: all of them were retried when the update
+        // recovered, and all but the last one when it gave up
+        int retries = throwable == null ? context.getRetryCount() : context.getRetryCount() - 1;
+        if (retries > 0) {
+            Counter.builder("inventory.stock.contention.retries")
+                    .description("Stock update retries after a version conflict")
+                    .tag(TenantMetricTags.TAG, tenantMetricTags.currentTenantTag())
+                    .tag(SKU_TAG, skuTag(context))
+                    .tag("outcome", throwable == null ? "recovered" : "exhausted")
+                    .register(meterRegistry)
+                    .increment(retries);
+        }
+    }
+
+    private static String skuTag(RetryContext context) {
+        Object sku = context.getAttribute(SKU_ATTRIBUTE);
+        return sku != null ? sku.toString() : TenantMetricTags.UNKNOWN;
+    }
+}
@@ -0,0 +1,36 @@
+package com.inventory.microservice.metrics;
+
+import com.inventory.microservice.config.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant tag values for metrics. The first {@code inventory.metrics.max-tagged-tenants} tenants seen get
+ * their own tag value and every later one is reported as {@value #OTHER}, so a large or hostile set of
+ * tenant ids cannot blow up the number of time series.
+ */
+@Component
+public class TenantMetricTags {
+
+    public static final String TAG = "tenant";
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+    public static final String UNKNOWN = "unknown";
+
+    private final BoundedTagValues tenants;
+
+    public TenantMetricTags(@Value("${inventory.metrics.max-tagged-tenants:100}") int maxTaggedTenants) {
+        this.tenants = new BoundedTagValues(maxTaggedTenants, OTHER);
+    }
+
+    public String tagFor(String tenantId) {
+        if (tenantId == null || tenantId.isEmpty()) {
+            return NONE;
+        }
+        return tenants.tagFor(tenantId);
+    }
+
+    public String currentTenantTag() {
+        return tagFor(TenantContext.getCurrentTenant());
+    }
+}
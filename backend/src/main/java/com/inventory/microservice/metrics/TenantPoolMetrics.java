@@ -0,0 +1,76 @@
+package com.inventory.microservice.metrics;
+
+import com.inventory.microservice.config.TenantConnectionPools;
+import com.inventory.microservice.config.TenantPoolProperties;
+import com.inventory.microservice.dto.TenantPoolStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Publishes per-tenant connection pool usage. Pools come and go as tenants warm up and are evicted,
+ * so the per-tenant gauges are re-registered from a snapshot on every refresh. Tenants beyond the
+ * tag budget are summed into the {@value TenantMetricTags#OTHER} series.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantPoolMetrics implements MeterBinder {
+
+    private static final String[] STATES = {"active", "idle", "pending", "max"};
+
+    private final TenantConnectionPools tenantConnectionPools;
+    private final TenantPoolProperties tenantPoolProperties;
+    private final TenantMetricTags tenantMetricTags;
+
+    private MultiGauge connections;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        connections = MultiGauge.builder("inventory.datasource.connections")
+                .description("Connections of each tenant pool by state")
+                .baseUnit("connections")
+                .register(registry);
+        Gauge.builder("inventory.datasource.connections.allocated", tenantConnectionPools,
+                        TenantConnectionPools::getAllocatedConnections)
+                .description("Connections reserved by all open tenant pools")
+                .register(registry);
+        Gauge.builder("inventory.datasource.connections.limit", tenantPoolProperties,
+                        TenantPoolProperties::getGlobalMaximumConnections)
+                .description("Global cap on connections across tenant pools")
+                .register(registry);
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.metrics.pool-refresh-ms:15000}")
+    public void refresh() {
+        if (connections == null) {
+            return;
+        }
+        Map<String, int[]> byTag = new TreeMap<>();
+        for (TenantPoolStats stats : tenantConnectionPools.getStats()) {
+            int[] totals = byTag.computeIfAbsent(tenantMetricTags.tagFor(stats.tenantId()), tag -> new int[STATES.length]);
+            totals[0] += stats.activeConnections();
+            totals[1] += stats.idleConnections();
+            totals[2] += stats.threadsAwaitingConnection();
+            totals[3] += stats.maximumPoolSize();
+        }
+
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        byTag.forEach((tag, totals) -> {
+            for (int i = 0; i < STATES.length; i++) {
+                rows.add(MultiGauge.Row.of(Tags.of(TenantMetricTags.TAG, tag, "state", STATES[i]), totals[i]));
+            }
+        });
+        connections.register(rows, true);
+    }
+}
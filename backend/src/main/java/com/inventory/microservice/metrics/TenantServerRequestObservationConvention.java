@@ -0,0 +1,35 @@
+package com.inventory.microservice.metrics;
+
+import com.inventory.microservice.config.TenantRegistry;
+import io.micrometer.common.KeyValues;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+// Adds the tenant to http.server.requests; taken from the header because the interceptor may have rejected it.
+// Ids the registry does not know are tagged "unknown" so bogus headers cannot use up the tag budget.
+@Component
+@RequiredArgsConstructor
+public class TenantServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private final TenantMetricTags tenantMetricTags;
+    private final TenantRegistry tenantRegistry;
+
+    @Value("${multitenancy.tenant.header:X-Tenant-ID}")
+    private String tenantHeader;
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(TenantMetricTags.TAG, tenantTag(context.getCarrier().getHeader(tenantHeader)));
+    }
+
+    private String tenantTag(String tenantId) {
+        if (tenantId == null || tenantId.isEmpty()) {
+            return TenantMetricTags.NONE;
+        }
+        return tenantRegistry.find(tenantId).isPresent() ? tenantMetricTags.tagFor(tenantId) : TenantMetricTags.UNKNOWN;
+    }
+}
@@ -0,0 +1,242 @@
+package com.inventory.microservice.migration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.microservice.repository.ProductRepository;
+import com.inventory.microservice.repository.ProductStockSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps monthly {@code stock_adjustments} partitions created ahead of time and applies retention by
+ * dropping whole partitions, optionally archiving each one to a gzipped NDJSON file first. Stock
+ * snapshots are captured at the cutoff before anything is dropped, so as-of queries from the oldest
+ * retained partition onwards still start from a correct base.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAdjustmentPartitionManager {
+
+    public enum RetentionMode {
+        ARCHIVE,
+        DROP
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProductRepository productRepository;
+    private final ProductStockSnapshotRepository productStockSnapshotRepository;
+
+    @Value("${inventory.stock-adjustments.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 keeps every partition
+    @Value("${inventory.stock-adjustments.retention.months:0}")
+    private int retentionMonths;
+
+    @Value("${inventory.stock-adjustments.retention.mode:ARCHIVE}")
+    private RetentionMode retentionMode;
+
+    @Value("${inventory.stock-adjustments.archive.directory:archive}")
+    private String archiveDirectory;
+
+    @Value("${inventory.stock-snapshots.chunk-size:5000}")
+    private int snapshotChunkSize;
+
+    private JdbcTemplate streamingJdbcTemplate;
+    // Start of the retained history per schema; short-lived since another instance may drop partitions
+    private final Cache<String, Optional<LocalDateTime>> retainedSince = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .maximumSize(10_000)
+            .build();
+
+    @PostConstruct
+    public void init() {
+        // MySQL Connector/J streams rows only with fetch size Integer.MIN_VALUE
+        streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public void maintain(String tenantId, String schemaName) {
+        ensureFuturePartitions(schemaName);
+        applyRetention(tenantId, schemaName);
+    }
+
+    /**
+     * Splits monthly partitions off {@code p_future} up to months-ahead months from now. Returns how many were added.
+     */
+    public int ensureFuturePartitions(String schemaName) {
+        List<PartitionInfo> partitions = listPartitions(schemaName);
+        if (partitions.isEmpty()) {
+            log.warn("stock_adjustments in {} is not partitioned; skipping partition maintenance", schemaName);
+            return 0;
+        }
+
+        long highestBound = partitions.stream()
+                .filter(partition -> partition.upperBound() != null)
+                .mapToLong(PartitionInfo::upperBound)
+                .max()
+                .orElse(StockAdjustmentPartitions.upperBound(YearMonth.now().minusMonths(1)));
+
+        List<String> definitions = new ArrayList<>();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        for (YearMonth month = StockAdjustmentPartitions.monthStartingAt(highestBound);
+             !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add(String.format("PARTITION %s VALUES LESS THAN (%d)",
+                    StockAdjustmentPartitions.partitionName(month), StockAdjustmentPartitions.upperBound(month)));
+        }
+        if (definitions.isEmpty()) {
+            return 0;
+        }
+
+        definitions.add("PARTITION " + StockAdjustmentPartitions.FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE");
+        jdbcTemplate.execute(String.format("ALTER TABLE `%s`.`stock_adjustments` REORGANIZE PARTITION %s INTO (%s)",
+                schemaName, StockAdjustmentPartitions.FUTURE_PARTITION, String.join(", ", definitions)));
+        log.info("Added {} stock_adjustments partitions to {}", definitions.size() - 1, schemaName);
+        return definitions.size() - 1;
+    }
+
+    /**
+     * Drops partitions whose rows are all older than the retention period, archiving them first in ARCHIVE mode.
+     * Returns how many partitions were dropped.
+     */
+    public int applyRetention(String tenantId, String schemaName) {
+        if (retentionMonths <= 0) {
+            return 0;
+        }
+        long cutoff = StockAdjustmentPartitions.upperBound(YearMonth.now().minusMonths(retentionMonths + 1L));
+        List<PartitionInfo> expired = listPartitions(schemaName).stream()
+                .filter(partition -> partition.upperBound() != null && partition.upperBound() <= cutoff)
+                .toList();
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        // Taken where the retained history starts, so replaying from it never needs a dropped row
+        long retainedFrom = expired.stream().mapToLong(PartitionInfo::upperBound).max().getAsLong();
+        captureSnapshots(LocalDateTime.ofInstant(Instant.ofEpochSecond(retainedFrom), ZoneId.systemDefault()));
+
+        int dropped = 0;
+        for (PartitionInfo partition : expired) {
+            if (retentionMode == RetentionMode.ARCHIVE) {
+                archive(tenantId, schemaName, partition.name());
+            }
+            jdbcTemplate.execute(String.format("ALTER TABLE `%s`.`stock_adjustments` DROP PARTITION %s",
+                    schemaName, partition.name()));
+            log.info("Dropped stock_adjustments partition {} of {} (~{} rows)",
+                    partition.name(), schemaName, partition.rows());
+            dropped++;
+        }
+        retainedSince.invalidate(schemaName);
+        return dropped;
+    }
+
+    /**
+     * Earliest created_at still in {@code stock_adjustments}, or empty when no history was ever dropped.
+     * Stock as of an earlier time cannot be computed any more.
+     */
+    public Optional<LocalDateTime> findRetainedSince(String schemaName) {
+        return retainedSince.get(schemaName, this::loadRetainedSince);
+    }
+
+    private Optional<LocalDateTime> loadRetainedSince(String schemaName) {
+        List<PartitionInfo> partitions = listPartitions(schemaName);
+        if (partitions.isEmpty()) {
+            return Optional.empty();
+        }
+        PartitionInfo oldest = partitions.get(0);
+        if (StockAdjustmentPartitions.HISTORY_PARTITION.equals(oldest.name()) || oldest.upperBound() == null) {
+            return Optional.empty();
+        }
+        // A monthly partition starts where the month does
+        YearMonth month = StockAdjustmentPartitions.monthStartingAt(oldest.upperBound()).minusMonths(1);
+        return Optional.of(month.atDay(1).atStartOfDay());
+    }
+
+    // Runs in the tenant's context; chunked by id like the nightly snapshot job
+    private void captureSnapshots(LocalDateTime snapshotAt) {
+        long maxId = productRepository.findMaxId();
+        int captured = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += snapshotChunkSize) {
+            captured += productStockSnapshotRepository.captureSnapshots(snapshotAt, fromId, fromId + snapshotChunkSize - 1);
+        }
+        log.info("Captured {} product stock snapshots as of {} before dropping older stock_adjustments partitions",
+                captured, snapshotAt);
+    }
+
+    // Writes to a temporary file and moves it into place, so a partition is never dropped on a partial archive
+    private void archive(String tenantId, String schemaName, String partitionName) {
+        Path directory = Paths.get(archiveDirectory, tenantId);
+        Path target = directory.resolve("stock_adjustments-" + partitionName + ".ndjson.gz");
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8))) {
+                streamingJdbcTemplate.query(String.format(
+                        "SELECT * FROM `%s`.`stock_adjustments` PARTITION (%s) ORDER BY id", schemaName, partitionName),
+                        rs -> {
+                            Map<String, Object> row = rowMapper.mapRow(rs, 0);
+                            row.replaceAll((column, value) ->
+                                    value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+                            try {
+                                writer.write(objectMapper.writeValueAsString(row));
+                                writer.newLine();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to archive partition " + partitionName + " of " + schemaName, e);
+        }
+        log.info("Archived stock_adjustments partition {} of {} to {}", partitionName, schemaName, target);
+    }
+
+    private List<PartitionInfo> listPartitions(String schemaName) {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = 'stock_adjustments' AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> {
+                    String description = rs.getString("PARTITION_DESCRIPTION");
+                    Long upperBound = "MAXVALUE".equals(description) ? null : Long.valueOf(description);
+                    return new PartitionInfo(rs.getString("PARTITION_NAME"), upperBound, rs.getLong("TABLE_ROWS"));
+                },
+                schemaName);
+    }
+
+    private record PartitionInfo(String name, Long upperBound, long rows) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventory.microservice.migration;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Naming and bounds of the monthly {@code stock_adjustments} partitions. Partition {@code pYYYYMM} holds
+ * the rows created in that month; {@code p_history} holds everything from before partitioning, and
+ * {@code p_future} catches rows beyond the last monthly partition.
+ */
+public final class StockAdjustmentPartitions {
+
+    public static final String HISTORY_PARTITION = "p_history";
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private StockAdjustmentPartitions() {
+    }
+
+    public static String partitionName(YearMonth month) {
+        return month.format(PARTITION_NAME);
+    }
+
+    // Exclusive upper bound of the month's partition, in the UNIX_TIMESTAMP(created_at) domain
+    public static long upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    // The month whose partition would start at the given bound
+    public static YearMonth monthStartingAt(long bound) {
+        return YearMonth.from(Instant.ofEpochSecond(bound).atZone(ZoneId.systemDefault()));
+    }
+
+    static String initialPartitioning(String schemaName) {
+        return String.format("ALTER TABLE `%s`.`stock_adjustments` PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (" +
+                        "PARTITION %s VALUES LESS THAN (%d), PARTITION %s VALUES LESS THAN MAXVALUE)",
+                schemaName, HISTORY_PARTITION, upperBound(YearMonth.now()), FUTURE_PARTITION);
+    }
+}
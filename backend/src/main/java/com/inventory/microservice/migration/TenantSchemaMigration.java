@@ -0,0 +1,26 @@
+package com.inventory.microservice.migration;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One versioned change to a tenant schema. Statements are generated per schema name and must be
+ * safe to re-run, since a crash can leave a migration applied but not yet recorded. A maintenance
+ * migration blocks writes to existing data while it runs, so only maintenance runs apply it.
+ */
+public record TenantSchemaMigration(int version, String description, boolean maintenance,
+                                    Function<String, List<String>> statements) {
+
+    // Statements are String.format templates with the schema name as their only argument
+    public static TenantSchemaMigration of(int version, String description, String... templates) {
+        return new TenantSchemaMigration(version, description, false, schemaName -> Arrays.stream(templates)
+                .map(template -> String.format(template, schemaName))
+                .toList());
+    }
+
+    public static TenantSchemaMigration maintenance(int version, String description,
+                                                    Function<String, List<String>> statements) {
+        return new TenantSchemaMigration(version, description, true, statements);
+    }
+}
@@ -0,0 +1,177 @@
+package com.inventory.microservice.migration;
+
+import java.util.List;
+
+/**
+ * Ordered list of every tenant schema migration. Append new versions at the end; never edit a released one.
+ */
+public final class TenantSchemaMigrations {
+
+    private TenantSchemaMigrations() {
+    }
+
+    public static final List<TenantSchemaMigration> ALL = List.of(
+
+            TenantSchemaMigration.of(1, "Create products and stock_adjustments tables",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`products` (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                            "sku VARCHAR(255) NOT NULL UNIQUE, " +
+                            "name VARCHAR(255) NOT NULL, " +
+                            "description VARCHAR(1000), " +
+                            "category VARCHAR(255) NOT NULL, " +
+                            "price DECIMAL(10,2) NOT NULL, " +
+                            "stock_quantity INT NOT NULL DEFAULT 0, " +
+                            "reorder_level INT NOT NULL DEFAULT 10, " +
+                            "active BOOLEAN NOT NULL DEFAULT TRUE, " +
+                            "version BIGINT, " +
+                            "created_at TIMESTAMP NOT NULL, " +
+                            "updated_at TIMESTAMP NOT NULL" +
+                            ")",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`stock_adjustments` (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                            "product_id BIGINT NOT NULL, " +
+                            "product_sku VARCHAR(255) NOT NULL, " +
+                            "adjustment_type VARCHAR(50) NOT NULL, " +
+                            "quantity_change INT NOT NULL, " +
+                            "previous_quantity INT NOT NULL, " +
+                            "new_quantity INT NOT NULL, " +
+                            "reason VARCHAR(500), " +
+                            "created_at TIMESTAMP NOT NULL" +
+                            ")"),
+
+            // Built online so existing tenants keep serving traffic while large tables are indexed
+            TenantSchemaMigration.of(2, "Add lookup indexes for history and reorder queries",
+                    "CREATE INDEX idx_stock_adjustments_product ON `%s`.`stock_adjustments` (product_id, id) " +
+                            "ALGORITHM=INPLACE LOCK=NONE",
+                    "CREATE INDEX idx_stock_adjustments_sku ON `%s`.`stock_adjustments` (product_sku) " +
+                            "ALGORITHM=INPLACE LOCK=NONE",
+                    "CREATE INDEX idx_stock_adjustments_type ON `%s`.`stock_adjustments` (adjustment_type, created_at) " +
+                            "ALGORITHM=INPLACE LOCK=NONE",
+                    "CREATE INDEX idx_stock_adjustments_created_at ON `%s`.`stock_adjustments` (created_at) " +
+                            "ALGORITHM=INPLACE LOCK=NONE",
+                    "CREATE INDEX idx_products_category ON `%s`.`products` (category, id) " +
+                            "ALGORITHM=INPLACE LOCK=NONE",
+                    "CREATE INDEX idx_products_active ON `%s`.`products` (active, id) " +
+                            "ALGORITHM=INPLACE LOCK=NONE",
+                    "CREATE INDEX idx_products_stock_reorder ON `%s`.`products` (stock_quantity, reorder_level) " +
+                            "ALGORITHM=INPLACE LOCK=NONE"),
+
+            TenantSchemaMigration.of(3, "Create inventory_snapshots table",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`inventory_snapshots` (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                            "snapshot_date DATE NOT NULL, " +
+                            "category VARCHAR(255) NOT NULL, " +
+                            "total_products BIGINT NOT NULL, " +
+                            "active_products BIGINT NOT NULL, " +
+                            "inactive_products BIGINT NOT NULL, " +
+                            "below_reorder_products BIGINT NOT NULL, " +
+                            "inventory_value DECIMAL(19,2) NOT NULL, " +
+                            "created_at TIMESTAMP NOT NULL, " +
+                            "UNIQUE KEY uk_inventory_snapshots_date_category (snapshot_date, category)" +
+                            ")"),
+            TenantSchemaMigration.of(4, "Create low_stock_items table",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`low_stock_items` (" +
+                            "product_id BIGINT PRIMARY KEY, " +
+                            "sku VARCHAR(255) NOT NULL, " +
+                            "stock_quantity INT NOT NULL, " +
+                            "reorder_level INT NOT NULL, " +
+                            "flagged_at TIMESTAMP NOT NULL" +
+                            ")",
+                    "INSERT IGNORE INTO `%1$s`.`low_stock_items` " +
+                            "(product_id, sku, stock_quantity, reorder_level, flagged_at) " +
+                            "SELECT id, sku, stock_quantity, reorder_level, NOW() FROM `%1$s`.`products` " +
+                            "WHERE stock_quantity <= reorder_level"),
+            TenantSchemaMigration.of(5, "Create stock_events outbox table",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`stock_events` (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                            "product_id BIGINT NOT NULL, " +
+                            "product_sku VARCHAR(255) NOT NULL, " +
+                            "adjustment_type VARCHAR(255) NOT NULL, " +
+                            "quantity_change INT NOT NULL, " +
+                            "previous_quantity INT NOT NULL, " +
+                            "new_quantity INT NOT NULL, " +
+                            "reason VARCHAR(500), " +
+                            "created_at TIMESTAMP NOT NULL, " +
+                            "sequence_number BIGINT NULL, " +
+                            "published_at TIMESTAMP NULL, " +
+                            "UNIQUE KEY uk_stock_events_sequence (sequence_number), " +
+                            "KEY idx_stock_events_published (published_at, id)" +
+                            ")"),
+
+            // Journaled adjustments carry an id so a replayed journal entry is inserted at most once
+            TenantSchemaMigration.of(6, "Add journal ids to stock_adjustments and stock_events",
+                    "ALTER TABLE `%s`.`stock_adjustments` ADD COLUMN journal_id VARCHAR(36) NULL, " +
+                            "ALGORITHM=INPLACE, LOCK=NONE",
+                    "CREATE UNIQUE INDEX uk_stock_adjustments_journal ON `%s`.`stock_adjustments` (journal_id) " +
+                            "ALGORITHM=INPLACE LOCK=NONE",
+                    "ALTER TABLE `%s`.`stock_events` ADD COLUMN journal_id VARCHAR(36) NULL, " +
+                            "ALGORITHM=INPLACE, LOCK=NONE",
+                    "CREATE UNIQUE INDEX uk_stock_events_journal ON `%s`.`stock_events` (journal_id) " +
+                            "ALGORITHM=INPLACE LOCK=NONE"),
+
+            // Unique keys must contain the partitioning column. This rebuilds the table with a blocking copy,
+            // so existing tenants get it only from a maintenance run; rows up to the current month go to
+            // p_history and later months get their own partitions
+            TenantSchemaMigration.maintenance(7, "Partition stock_adjustments by month", schemaName -> List.of(
+                    String.format("ALTER TABLE `%s`.`stock_adjustments` " +
+                            "DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at), " +
+                            "DROP INDEX uk_stock_adjustments_journal, " +
+                            "ADD UNIQUE KEY uk_stock_adjustments_journal (journal_id, created_at)", schemaName),
+                    StockAdjustmentPartitions.initialPartitioning(schemaName))),
+
+            // Backfill replaces rather than adds, so re-running it cannot double count
+            TenantSchemaMigration.of(8, "Create stock_movement_daily rollup",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`stock_movement_daily` (" +
+                            "product_id BIGINT NOT NULL, " +
+                            "movement_date DATE NOT NULL, " +
+                            "adjustment_type VARCHAR(50) NOT NULL, " +
+                            "product_sku VARCHAR(255) NOT NULL, " +
+                            "total_quantity BIGINT NOT NULL, " +
+                            "adjustment_count BIGINT NOT NULL, " +
+                            "PRIMARY KEY (product_id, movement_date, adjustment_type), " +
+                            "KEY idx_stock_movement_daily_date (movement_date, adjustment_type)" +
+                            ")",
+                    "INSERT INTO `%1$s`.`stock_movement_daily` " +
+                            "(product_id, movement_date, adjustment_type, product_sku, total_quantity, adjustment_count) " +
+                            "SELECT product_id, DATE(created_at), adjustment_type, MAX(product_sku), " +
+                            "SUM(quantity_change), COUNT(*) FROM `%1$s`.`stock_adjustments` " +
+                            "GROUP BY product_id, DATE(created_at), adjustment_type " +
+                            "ON DUPLICATE KEY UPDATE total_quantity = VALUES(total_quantity), " +
+                            "adjustment_count = VALUES(adjustment_count)"),
+
+            TenantSchemaMigration.of(9, "Create product_stock_snapshots table for as-of queries",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`product_stock_snapshots` (" +
+                            "product_id BIGINT NOT NULL, " +
+                            "snapshot_at TIMESTAMP NOT NULL, " +
+                            "stock_quantity INT NOT NULL, " +
+                            "PRIMARY KEY (product_id, snapshot_at)" +
+                            ")",
+                    "CREATE INDEX idx_stock_adjustments_product_created ON `%s`.`stock_adjustments` " +
+                            "(product_id, created_at) ALGORITHM=INPLACE LOCK=NONE"),
+
+            // A hold's quantity sits on its product row until the hold is confirmed, released or expires
+            TenantSchemaMigration.of(10, "Add reserved_quantity to products and create stock_holds table",
+                    "ALTER TABLE `%s`.`products` ADD COLUMN reserved_quantity INT NOT NULL DEFAULT 0, " +
+                            "ALGORITHM=INPLACE, LOCK=NONE",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`stock_holds` (" +
+                            "hold_id VARCHAR(36) PRIMARY KEY, " +
+                            "product_id BIGINT NOT NULL, " +
+                            "quantity INT NOT NULL, " +
+                            "created_at TIMESTAMP NOT NULL, " +
+                            "expires_at TIMESTAMP NOT NULL, " +
+                            "KEY idx_stock_holds_expires (expires_at)" +
+                            ")"),
+
+            // Written in the stock update's transaction, so journal replay can tell a committed entry from a
+            // rolled back one when the process died before the COMMIT record; rows go once the entry is inserted
+            TenantSchemaMigration.of(11, "Create journal_commits table",
+                    "CREATE TABLE IF NOT EXISTS `%s`.`journal_commits` (" +
+                            "journal_id VARCHAR(36) PRIMARY KEY, " +
+                            "committed_at TIMESTAMP NOT NULL" +
+                            ")")
+    );
+
+    public static int latestVersion() {
+        return ALL.get(ALL.size() - 1).version();
+    }
+}
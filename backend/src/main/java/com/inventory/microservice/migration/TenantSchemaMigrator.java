@@ -0,0 +1,298 @@
+package com.inventory.microservice.migration;
+
+import com.inventory.microservice.dto.TenantMigrationStatus;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.repository.TenantRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+/**
+ * Brings tenant schemas up to {@link TenantSchemaMigrations#latestVersion()}. Each schema records its
+ * applied versions in a {@code schema_migrations} table, and a MySQL named lock keeps two instances
+ * from migrating the same schema at once. Existing tenants are migrated in the background at startup;
+ * maintenance migrations are left for an explicitly started maintenance run, and later versions are
+ * applied meanwhile. Until a startup-known schema has every non-maintenance migration applied it is not
+ * {@link #isReady ready}, and requests and jobs for its tenant are held back; a failed run keeps it that
+ * way until a later run succeeds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantSchemaMigrator {
+
+    // MySQL errors meaning the object a migration creates is already there
+    private static final Set<Integer> ALREADY_APPLIED_ERRORS = Set.of(
+            1050, // ER_TABLE_EXISTS_ERROR
+            1060, // ER_DUP_FIELDNAME
+            1061  // ER_DUP_KEYNAME
+    );
+
+    private static final String CREATE_HISTORY_TABLE =
+            "CREATE TABLE IF NOT EXISTS `%s`.`schema_migrations` (" +
+                    "version INT PRIMARY KEY, " +
+                    "description VARCHAR(255) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL" +
+                    ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantRepository tenantRepository;
+
+    @Value("${inventory.migrations.run-on-startup:true}")
+    private boolean runOnStartup;
+
+    @Value("${inventory.migrations.parallelism:4}")
+    private int parallelism;
+
+    @Value("${inventory.migrations.lock-timeout-seconds:60}")
+    private int lockTimeoutSeconds;
+
+    private final Map<String, TenantMigrationStatus> statuses = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Tenant id -> schema of tenants that existed at startup and may still lack non-maintenance migrations
+    private final Map<String, String> pendingTenants = new ConcurrentHashMap<>();
+
+    // Tenants created later are fully migrated before their record commits, so only these can lag behind
+    @PostConstruct
+    public void loadPendingTenants() {
+        if (runOnStartup) {
+            tenantRepository.findAll().forEach(tenant -> pendingTenants.put(tenant.getTenantId(), tenant.getSchemaName()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (runOnStartup) {
+            migrateAllTenantsAsync(false);
+        }
+    }
+
+    /**
+     * Starts migrating every tenant schema on a background thread, including maintenance migrations only
+     * when asked to. Returns false if a run is already in progress.
+     */
+    public boolean migrateAllTenantsAsync(boolean includeMaintenance) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread worker = new Thread(() -> migrateAllTenants(includeMaintenance), "tenant-schema-migrator");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    /**
+     * Whether the tenant's schema has every non-maintenance migration applied, i.e. the application's
+     * queries can run against it.
+     */
+    public boolean isReady(String tenantId) {
+        return !pendingTenants.containsKey(tenantId);
+    }
+
+    /**
+     * Applies the tenant's outstanding non-maintenance migrations now, for work that cannot wait for the
+     * background run (a command-line import starts before it).
+     */
+    public void ensureReady(String tenantId) {
+        String schemaName = pendingTenants.get(tenantId);
+        if (schemaName != null) {
+            migrate(schemaName, false, version -> { });
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public List<TenantMigrationStatus> getStatuses() {
+        return statuses.values().stream()
+                .sorted(Comparator.comparing(TenantMigrationStatus::tenantId))
+                .toList();
+    }
+
+    /**
+     * Migrates a new, still empty schema synchronously, maintenance migrations included, and returns the
+     * version it ends at.
+     */
+    public int migrate(String schemaName) {
+        return migrate(schemaName, true, version -> { });
+    }
+
+    private void migrateAllTenants(boolean includeMaintenance) {
+        long start = System.currentTimeMillis();
+        try {
+            List<Tenant> tenants = tenantRepository.findAll();
+            tenants.forEach(tenant -> updateStatus(tenant, TenantMigrationStatus.State.PENDING, 0, null));
+            log.info("Migrating {} tenant schemas to version {}{}", tenants.size(),
+                    TenantSchemaMigrations.latestVersion(), includeMaintenance ? " (maintenance run)" : "");
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+            try {
+                CompletableFuture<?>[] runs = tenants.stream()
+                        .map(tenant -> CompletableFuture.runAsync(() -> migrateTenant(tenant, includeMaintenance), executor))
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture.allOf(runs).join();
+            } finally {
+                executor.shutdown();
+            }
+
+            long failed = statuses.values().stream()
+                    .filter(status -> status.state() == TenantMigrationStatus.State.FAILED)
+                    .count();
+            log.info("Tenant schema migration finished in {} ms ({} failed)", System.currentTimeMillis() - start, failed);
+        } catch (Exception e) {
+            log.error("Tenant schema migration run failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void migrateTenant(Tenant tenant, boolean includeMaintenance) {
+        updateStatus(tenant, TenantMigrationStatus.State.RUNNING, 0, null);
+        try {
+            int version = migrate(tenant.getSchemaName(), includeMaintenance,
+                    applied -> updateStatus(tenant, TenantMigrationStatus.State.RUNNING, applied, null));
+            updateStatus(tenant, TenantMigrationStatus.State.DONE, version,
+                    version < TenantSchemaMigrations.latestVersion() ? "Maintenance migrations pending" : null);
+        } catch (Exception e) {
+            log.error("Failed to migrate schema for tenant: {}", tenant.getTenantId(), e);
+            TenantMigrationStatus previous = statuses.get(tenant.getTenantId());
+            updateStatus(tenant, TenantMigrationStatus.State.FAILED,
+                    previous != null ? previous.appliedVersion() : 0, e.getMessage());
+        }
+    }
+
+    private int migrate(String schemaName, boolean includeMaintenance, IntConsumer onApplied) {
+        Integer version = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            String lockName = "tenant_migration_" + schemaName;
+            acquireLock(connection, lockName);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(String.format(CREATE_HISTORY_TABLE, schemaName));
+                Set<Integer> applied = appliedVersions(statement, schemaName);
+
+                for (TenantSchemaMigration migration : TenantSchemaMigrations.ALL) {
+                    if (applied.contains(migration.version())) {
+                        continue;
+                    }
+                    if (migration.maintenance() && !includeMaintenance) {
+                        log.info("Deferring maintenance migration V{} of {} to a maintenance run: {}",
+                                migration.version(), schemaName, migration.description());
+                        continue;
+                    }
+                    log.info("Applying migration V{} to {}: {}", migration.version(), schemaName, migration.description());
+                    for (String sql : migration.statements().apply(schemaName)) {
+                        executeIdempotent(statement, sql);
+                    }
+                    recordVersion(connection, schemaName, migration);
+                    applied.add(migration.version());
+                    onApplied.accept(completeVersion(applied));
+                }
+                if (hasRequiredVersions(applied)) {
+                    pendingTenants.values().remove(schemaName);
+                }
+                return completeVersion(applied);
+            } finally {
+                releaseLock(connection, lockName);
+            }
+        });
+        return version != null ? version : 0;
+    }
+
+    private void acquireLock(Connection connection, String lockName) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, lockName);
+            ps.setInt(2, lockTimeoutSeconds);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for migration lock: " + lockName);
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection, String lockName) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, lockName);
+            ps.executeQuery().close();
+        }
+    }
+
+    // Highest version with every version up to it applied, so a deferred migration holds it back
+    private static int completeVersion(Set<Integer> applied) {
+        int version = 0;
+        for (TenantSchemaMigration migration : TenantSchemaMigrations.ALL) {
+            if (!applied.contains(migration.version())) {
+                break;
+            }
+            version = migration.version();
+        }
+        return version;
+    }
+
+    private static boolean hasRequiredVersions(Set<Integer> applied) {
+        return TenantSchemaMigrations.ALL.stream()
+                .allMatch(migration -> migration.maintenance() || applied.contains(migration.version()));
+    }
+
+    private Set<Integer> appliedVersions(Statement statement, String schemaName) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (ResultSet rs = statement.executeQuery(
+                String.format("SELECT version FROM `%s`.`schema_migrations`", schemaName))) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private void executeIdempotent(Statement statement, String sql) throws SQLException {
+        try {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            if (!ALREADY_APPLIED_ERRORS.contains(e.getErrorCode())) {
+                throw e;
+            }
+            log.debug("Skipping already applied statement: {}", sql);
+        }
+    }
+
+    private void recordVersion(Connection connection, String schemaName, TenantSchemaMigration migration)
+            throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(String.format(
+                "INSERT INTO `%s`.`schema_migrations` (version, description, applied_at) VALUES (?, ?, NOW())",
+                schemaName))) {
+            ps.setInt(1, migration.version());
+            ps.setString(2, migration.description());
+            ps.executeUpdate();
+        }
+    }
+
+    private void updateStatus(Tenant tenant, TenantMigrationStatus.State state, int appliedVersion, String message) {
+        statuses.put(tenant.getTenantId(), new TenantMigrationStatus(tenant.getTenantId(), tenant.getSchemaName(),
+                state, appliedVersion, TenantSchemaMigrations.latestVersion(), message, LocalDateTime.now()));
+    }
+}
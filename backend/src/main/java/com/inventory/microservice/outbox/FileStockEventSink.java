@@ -0,0 +1,52 @@
+package com.inventory.microservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.microservice.entity.StockEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends published events as NDJSON to one file per tenant under the configured directory.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.stock-events.sink", havingValue = "file")
+@RequiredArgsConstructor
+@Slf4j
+public class FileStockEventSink implements StockEventSink {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${inventory.stock-events.sink.file.directory:stock-events}")
+    private String directory;
+
+    @Override
+    public void publish(String tenantId, List<StockEvent> events) {
+        Path file = Paths.get(directory, tenantId + ".ndjson");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (StockEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write stock events for tenant: " + tenantId, e);
+        }
+        log.debug("Appended {} stock events to {}", events.size(), file);
+    }
+}
@@ -0,0 +1,48 @@
+package com.inventory.microservice.outbox;
+
+import com.inventory.microservice.entity.StockEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the most recent published events per tenant in memory. Default sink, meant for local runs and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.stock-events.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryStockEventSink implements StockEventSink {
+
+    @Value("${inventory.stock-events.sink.memory.capacity-per-tenant:10000}")
+    private int capacityPerTenant;
+
+    private final Map<String, Deque<StockEvent>> events = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String tenantId, List<StockEvent> batch) {
+        Deque<StockEvent> tenantEvents = events.computeIfAbsent(tenantId, key -> new ArrayDeque<>());
+        synchronized (tenantEvents) {
+            for (StockEvent event : batch) {
+                tenantEvents.addLast(event);
+                if (tenantEvents.size() > capacityPerTenant) {
+                    tenantEvents.removeFirst();
+                }
+            }
+        }
+    }
+
+    public List<StockEvent> getEvents(String tenantId) {
+        Deque<StockEvent> tenantEvents = events.get(tenantId);
+        if (tenantEvents == null) {
+            return List.of();
+        }
+        synchronized (tenantEvents) {
+            return List.copyOf(tenantEvents);
+        }
+    }
+}
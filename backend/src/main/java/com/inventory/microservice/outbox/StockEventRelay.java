@@ -0,0 +1,122 @@
+package com.inventory.microservice.outbox;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.config.TenantRegistry;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import com.inventory.microservice.service.StockEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drains tenants' {@code stock_events} outboxes to the configured {@link StockEventSink}. Only tenants
+ * marked by a {@link StockEventsWrittenEvent} are visited, so idle tenants' pools can go cold; a slower
+ * sweep over one master connection catches rows whose mark was lost (another instance, a crash).
+ * Tenants whose schema migrations have not run yet stay marked until they have.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockEventRelay {
+
+    private final TenantRegistry tenantRegistry;
+    private final StockEventService stockEventService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
+
+    @Value("${inventory.stock-events.relay-batch-size:500}")
+    private int batchSize;
+
+    @Value("${inventory.stock-events.retention-days:7}")
+    private int retentionDays;
+
+    private final Set<String> pendingTenants = ConcurrentHashMap.newKeySet();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockEventsWritten(StockEventsWrittenEvent event) {
+        if (event.tenantId() != null) {
+            pendingTenants.add(event.tenantId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stock-events.relay-interval-ms:500}")
+    public void relay() {
+        for (String tenantId : List.copyOf(pendingTenants)) {
+            if (!tenantSchemaMigrator.isReady(tenantId)) {
+                continue;
+            }
+            pendingTenants.remove(tenantId);
+            if (tenantRegistry.find(tenantId).filter(TenantRegistry.RegisteredTenant::isActive).isEmpty()) {
+                continue;
+            }
+            try {
+                TenantContext.runInTenant(tenantId, () -> relayTenant(tenantId));
+            } catch (RuntimeException e) {
+                log.error("Stock event relay failed for tenant: {}", tenantId, e);
+                pendingTenants.add(tenantId);
+            }
+        }
+    }
+
+    // Runs on the master connection with schema-qualified queries, so it does not open any tenant pool
+    @Scheduled(fixedDelayString = "${inventory.stock-events.sweep-interval-ms:30000}")
+    public void sweep() {
+        for (Tenant tenant : tenantRegistry.getActiveTenants()) {
+            if (!tenantSchemaMigrator.isReady(tenant.getTenantId())) {
+                continue;
+            }
+            try {
+                List<Long> unpublished = jdbcTemplate.queryForList("SELECT id FROM `" + tenant.getSchemaName() +
+                        "`.`stock_events` WHERE published_at IS NULL LIMIT 1", Long.class);
+                if (!unpublished.isEmpty() && pendingTenants.add(tenant.getTenantId())) {
+                    log.debug("Sweep found unpublished stock events for tenant: {}", tenant.getTenantId());
+                }
+            } catch (RuntimeException e) {
+                log.error("Stock event sweep failed for tenant: {}", tenant.getTenantId(), e);
+            }
+        }
+    }
+
+    private void relayTenant(String tenantId) {
+        int published = 0;
+        int relayed;
+        do {
+            relayed = stockEventService.relayPending(tenantId, batchSize);
+            published += relayed;
+        } while (relayed == batchSize);
+
+        if (published > 0) {
+            stockEventService.notifyWaiters(tenantId);
+        }
+    }
+
+    @Scheduled(cron = "0 30 * * * ?") // Every hour
+    public void purgePublishedEvents() {
+        LocalDateTime publishedBefore = LocalDateTime.now().minusDays(retentionDays);
+        for (Tenant tenant : tenantRegistry.getActiveTenants()) {
+            if (!tenantSchemaMigrator.isReady(tenant.getTenantId())) {
+                continue;
+            }
+            try {
+                TenantContext.runInTenant(tenant.getTenantId(), () -> {
+                    int purged = stockEventService.purgePublishedBefore(publishedBefore);
+                    if (purged > 0) {
+                        log.info("Tenant {} - purged {} published stock events", tenant.getTenantId(), purged);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Stock event purge failed for tenant: {}", tenant.getTenantId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventory.microservice.outbox;
+
+import com.inventory.microservice.entity.StockEvent;
+
+import java.util.List;
+
+/**
+ * Destination the {@link StockEventRelay} publishes outbox events to, in sequence order per tenant.
+ * Delivery is at-least-once: a batch is re-published if the relay fails before marking it published.
+ */
+public interface StockEventSink {
+
+    void publish(String tenantId, List<StockEvent> events);
+}
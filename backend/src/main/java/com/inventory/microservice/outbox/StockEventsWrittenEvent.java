@@ -0,0 +1,8 @@
+package com.inventory.microservice.outbox;
+
+/**
+ * Published when rows are added to a tenant's {@code stock_events} outbox, so the relay only visits
+ * tenants with something to publish. Listened to after commit.
+ */
+public record StockEventsWrittenEvent(String tenantId) {
+}
@@ -0,0 +1,25 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    List<InventorySnapshot> findBySnapshotDateOrderByCategoryAsc(LocalDate snapshotDate);
+
+    @Query("SELECT MAX(s.snapshotDate) FROM InventorySnapshot s")
+    Optional<LocalDate> findLatestSnapshotDate();
+
+    @Modifying
+    @Query("DELETE FROM InventorySnapshot s WHERE s.snapshotDate = :snapshotDate")
+    int deleteBySnapshotDate(@Param("snapshotDate") LocalDate snapshotDate);
+}
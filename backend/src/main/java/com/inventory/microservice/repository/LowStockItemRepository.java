@@ -0,0 +1,36 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.LowStockItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LowStockItemRepository extends JpaRepository<LowStockItem, Long> {
+
+    // Affected row counts tell the caller whether the product just crossed the threshold
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO low_stock_items (product_id, sku, stock_quantity, reorder_level, flagged_at) " +
+            "VALUES (:productId, :sku, :stockQuantity, :reorderLevel, :flaggedAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("productId") Long productId,
+                       @Param("sku") String sku,
+                       @Param("stockQuantity") int stockQuantity,
+                       @Param("reorderLevel") int reorderLevel,
+                       @Param("flaggedAt") LocalDateTime flaggedAt);
+
+    @Modifying
+    @Query(value = "UPDATE low_stock_items SET sku = :sku, stock_quantity = :stockQuantity, " +
+            "reorder_level = :reorderLevel WHERE product_id = :productId", nativeQuery = true)
+    int updateLevels(@Param("productId") Long productId,
+                     @Param("sku") String sku,
+                     @Param("stockQuantity") int stockQuantity,
+                     @Param("reorderLevel") int reorderLevel);
+
+    @Modifying
+    @Query(value = "DELETE FROM low_stock_items WHERE product_id = :productId", nativeQuery = true)
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,26 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC-batched product upserts for bulk imports. Products use IDENTITY ids, so Hibernate cannot batch them.
+ */
+public interface ProductImportQueries {
+
+    // Locks the existing rows (and the gaps for missing SKUs) until the transaction ends; returns id by SKU
+    Map<String, Long> lockIdsBySku(Collection<String> skus);
+
+    /**
+     * Inserts new SKUs with their stock and updates the catalog fields of existing ones. Existing rows keep
+     * their stock, which only changes through adjustments, and are reactivated.
+     */
+    void upsertAll(List<Product> products, LocalDateTime now);
+
+    // Adds or removes the given products from low_stock_items to match their current levels
+    void syncLowStockItems(Collection<Long> productIds, LocalDateTime now);
+}
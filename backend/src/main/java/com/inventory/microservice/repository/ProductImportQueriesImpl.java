@@ -0,0 +1,86 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ProductImportQueriesImpl implements ProductImportQueries {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO products (sku, name, description, category, price, stock_quantity, reorder_level, " +
+                    "active, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, 0, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE name = VALUES(name), description = VALUES(description), " +
+                    "category = VALUES(category), price = VALUES(price), reorder_level = VALUES(reorder_level), " +
+                    "active = TRUE, version = version + 1, updated_at = VALUES(updated_at)";
+
+    private static final String LOW_STOCK_UPSERT_SQL =
+            "INSERT INTO low_stock_items (product_id, sku, stock_quantity, reorder_level, flagged_at) " +
+                    "SELECT id, sku, stock_quantity, reorder_level, ? FROM products " +
+                    "WHERE id IN (%s) AND stock_quantity <= reorder_level " +
+                    "ON DUPLICATE KEY UPDATE sku = VALUES(sku), stock_quantity = VALUES(stock_quantity), " +
+                    "reorder_level = VALUES(reorder_level)";
+
+    private static final String LOW_STOCK_DELETE_SQL =
+            "DELETE FROM low_stock_items WHERE product_id IN (" +
+                    "SELECT id FROM products WHERE id IN (%s) AND stock_quantity > reorder_level)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, Long> lockIdsBySku(Collection<String> skus) {
+        Map<String, Long> ids = new HashMap<>();
+        if (skus.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query("SELECT id, sku FROM products WHERE sku IN (" + placeholders(skus.size()) + ") FOR UPDATE",
+                rs -> {
+                    ids.put(rs.getString("sku"), rs.getLong("id"));
+                }, skus.toArray());
+        return ids;
+    }
+
+    @Override
+    public void upsertAll(List<Product> products, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, products, BATCH_SIZE, (ps, product) -> {
+            ps.setString(1, product.getSku());
+            ps.setString(2, product.getName());
+            ps.setString(3, product.getDescription());
+            ps.setString(4, product.getCategory());
+            ps.setBigDecimal(5, product.getPrice());
+            ps.setInt(6, product.getStockQuantity());
+            ps.setInt(7, product.getReorderLevel());
+            ps.setTimestamp(8, timestamp);
+            ps.setTimestamp(9, timestamp);
+        });
+    }
+
+    @Override
+    public void syncLowStockItems(Collection<Long> productIds, LocalDateTime now) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Object[] ids = productIds.toArray();
+        Object[] upsertArgs = new Object[ids.length + 1];
+        upsertArgs[0] = Timestamp.valueOf(now);
+        System.arraycopy(ids, 0, upsertArgs, 1, ids.length);
+
+        jdbcTemplate.update(String.format(LOW_STOCK_UPSERT_SQL, placeholders(ids.length)), upsertArgs);
+        jdbcTemplate.update(String.format(LOW_STOCK_DELETE_SQL, placeholders(ids.length)), ids);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,15 +1,27 @@
 package com.inventory.microservice.repository;
 
+import com.inventory.microservice.dto.CategoryStockSummary;
 import com.inventory.microservice.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductImportQueries {
 
     Optional<Product> findBySku(String sku);
 
@@ -20,5 +32,77 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.stockQuantity <= p.reorderLevel")
     List<Product> findProductsNeedingReorder();
 
+    // One grouped scan instead of loading the catalog; value is summed as DECIMAL by the database
+    @Query("SELECT p.category AS category, COUNT(p) AS totalProducts, " +
+            "SUM(CASE WHEN p.active = true THEN 1 ELSE 0 END) AS activeProducts, " +
+            "SUM(CASE WHEN p.stockQuantity <= p.reorderLevel THEN 1 ELSE 0 END) AS belowReorderProducts, " +
+            "SUM(CASE WHEN p.active = true THEN p.price * p.stockQuantity ELSE 0 END) AS inventoryValue " +
+            "FROM Product p GROUP BY p.category")
+    List<CategoryStockSummary> summarizeByCategory();
+
     boolean existsBySku(String sku);
+
+    List<Product> findBySkuIn(Collection<String> skus);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Product p")
+    long findMaxId();
+
+    // Keyset pages: rows with id greater than the cursor, in id order
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<Product> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, Long afterId, Pageable pageable);
+
+    List<Product> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Reads the incrementally maintained low-stock set instead of scanning the catalog
+    @Query("SELECT p FROM LowStockItem l JOIN Product p ON p.id = l.productId " +
+            "WHERE l.productId > :afterId ORDER BY l.productId")
+    List<Product> findProductsNeedingReorderAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // MySQL Connector/J only streams rows (instead of buffering the whole result) with fetch size Integer.MIN_VALUE
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    @Query("SELECT p.id FROM Product p WHERE p.sku IN :skus")
+    List<Long> findIdsBySkuIn(@Param("skus") Collection<String> skus);
+
+    // Locks rows in id order so concurrent batches cannot deadlock each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Applies a stock delta in one statement; returns 0 if the product is missing or the result would go negative
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.version = p.version + 1, " +
+            "p.updatedAt = :now WHERE p.id = :id AND p.stockQuantity + :delta >= 0")
+    int applyStockDelta(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    // Same for a sale, which may not take units held by reservations
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.version = p.version + 1, " +
+            "p.updatedAt = :now WHERE p.id = :id AND p.stockQuantity + :delta >= p.reservedQuantity")
+    int applySaleDelta(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    // Reservation updates bump the version too, so an optimistic write that checked the old reserved
+    // quantity fails and is retried
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.reservedQuantity = p.reservedQuantity + :quantity, p.version = p.version + 1, " +
+            "p.updatedAt = :now WHERE p.id = :id AND p.stockQuantity - p.reservedQuantity >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.reservedQuantity = p.reservedQuantity - :quantity, p.version = p.version + 1, " +
+            "p.updatedAt = :now WHERE p.id = :id AND p.reservedQuantity >= :quantity")
+    int releaseReservedStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    // Sells reserved units: stock and reserved quantity drop together
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, " +
+            "p.reservedQuantity = p.reservedQuantity - :quantity, p.version = p.version + 1, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.stockQuantity >= :quantity AND p.reservedQuantity >= :quantity")
+    int consumeReservedStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,11 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.ProductStockSnapshot;
+import com.inventory.microservice.entity.ProductStockSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductStockSnapshotRepository
+        extends JpaRepository<ProductStockSnapshot, ProductStockSnapshotId>, StockAsOfQueries {
+}
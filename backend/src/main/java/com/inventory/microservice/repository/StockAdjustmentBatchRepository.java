@@ -0,0 +1,26 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.StockAdjustment;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC-batched writes for stock adjustments. The entity uses IDENTITY ids, which stops
+ * Hibernate from batching inserts, so bulk paths go through this fragment instead.
+ * Every adjustment is also written to the {@code stock_events} outbox and added to the
+ * {@code stock_movement_daily} rollup in the same transaction.
+ */
+public interface StockAdjustmentBatchRepository {
+
+    void insertAll(List<StockAdjustment> adjustments);
+
+    // Rows whose journal id already exists are skipped, so journal replay can re-insert safely.
+    // Also deletes the adjustments' journal_commits rows, which are no longer needed once they are inserted
+    void insertJournaled(List<StockAdjustment> adjustments);
+
+    // Proof, committed with the stock update itself, that journaled adjustments belong to a committed transaction
+    void recordJournalCommits(List<String> journalIds);
+
+    Set<String> findJournalCommits(List<String> journalIds);
+}
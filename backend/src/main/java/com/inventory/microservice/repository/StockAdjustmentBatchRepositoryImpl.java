@@ -0,0 +1,151 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.StockAdjustment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class StockAdjustmentBatchRepositoryImpl implements StockAdjustmentBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_adjustments (product_id, product_sku, adjustment_type, quantity_change, " +
+                    "previous_quantity, new_quantity, reason, created_at, journal_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String OUTBOX_INSERT_SQL =
+            "INSERT INTO stock_events (product_id, product_sku, adjustment_type, quantity_change, " +
+                    "previous_quantity, new_quantity, reason, created_at, journal_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // A replayed journal entry that was already inserted is a no-op; other errors still fail
+    private static final String IDEMPOTENT_SUFFIX = " ON DUPLICATE KEY UPDATE journal_id = journal_id";
+
+    private static final String ROLLUP_UPSERT_SQL =
+            "INSERT INTO stock_movement_daily (product_id, movement_date, adjustment_type, product_sku, " +
+                    "total_quantity, adjustment_count) VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE total_quantity = total_quantity + VALUES(total_quantity), " +
+                    "adjustment_count = adjustment_count + VALUES(adjustment_count), product_sku = VALUES(product_sku)";
+
+    private static final String JOURNAL_COMMIT_INSERT_SQL =
+            "INSERT INTO journal_commits (journal_id, committed_at) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<StockAdjustment> adjustments) {
+        insert(adjustments, "");
+    }
+
+    // Skips entries a previous flush already inserted, so the rollup below is not incremented twice
+    @Override
+    public void insertJournaled(List<StockAdjustment> adjustments) {
+        List<String> journalIds = adjustments.stream().map(StockAdjustment::getJournalId).toList();
+        Set<String> existing = new HashSet<>();
+        forEachChunk(journalIds, chunk -> existing.addAll(jdbcTemplate.queryForList(
+                "SELECT journal_id FROM stock_adjustments WHERE journal_id IN (" + placeholders(chunk) + ")",
+                String.class, chunk.toArray())));
+        insert(adjustments.stream()
+                .filter(adjustment -> !existing.contains(adjustment.getJournalId()))
+                .toList(), IDEMPOTENT_SUFFIX);
+        forEachChunk(journalIds, chunk -> jdbcTemplate.update(
+                "DELETE FROM journal_commits WHERE journal_id IN (" + placeholders(chunk) + ")", chunk.toArray()));
+    }
+
+    @Override
+    public void recordJournalCommits(List<String> journalIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(JOURNAL_COMMIT_INSERT_SQL, journalIds, BATCH_SIZE, (ps, journalId) -> {
+            ps.setString(1, journalId);
+            ps.setTimestamp(2, now);
+        });
+    }
+
+    @Override
+    public Set<String> findJournalCommits(List<String> journalIds) {
+        Set<String> found = new HashSet<>();
+        forEachChunk(journalIds, chunk -> found.addAll(jdbcTemplate.queryForList(
+                "SELECT journal_id FROM journal_commits WHERE journal_id IN (" + placeholders(chunk) + ")",
+                String.class, chunk.toArray())));
+        return found;
+    }
+
+    private static void forEachChunk(List<String> values, Consumer<List<String>> action) {
+        for (int start = 0; start < values.size(); start += BATCH_SIZE) {
+            action.accept(values.subList(start, Math.min(start + BATCH_SIZE, values.size())));
+        }
+    }
+
+    private static String placeholders(List<String> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+
+    private void insert(List<StockAdjustment> adjustments, String suffix) {
+        if (adjustments.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        adjustments.stream()
+                .filter(adjustment -> adjustment.getCreatedAt() == null)
+                .forEach(adjustment -> adjustment.setCreatedAt(now));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL + suffix, adjustments, BATCH_SIZE, this::setValues);
+        jdbcTemplate.batchUpdate(OUTBOX_INSERT_SQL + suffix, adjustments, BATCH_SIZE, this::setValues);
+        upsertRollup(adjustments);
+    }
+
+    // Pre-aggregated so a batch touches each (product, day, type) rollup row once
+    private void upsertRollup(List<StockAdjustment> adjustments) {
+        Map<RollupKey, long[]> totals = new LinkedHashMap<>();
+        Map<RollupKey, String> skus = new HashMap<>();
+        for (StockAdjustment adjustment : adjustments) {
+            RollupKey key = new RollupKey(adjustment.getProductId(), adjustment.getCreatedAt().toLocalDate(),
+                    adjustment.getAdjustmentType());
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0] += adjustment.getQuantityChange();
+            total[1]++;
+            skus.put(key, adjustment.getProductSku());
+        }
+
+        jdbcTemplate.batchUpdate(ROLLUP_UPSERT_SQL, List.copyOf(totals.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            RollupKey key = entry.getKey();
+            ps.setLong(1, key.productId());
+            ps.setDate(2, Date.valueOf(key.movementDate()));
+            ps.setString(3, key.adjustmentType());
+            ps.setString(4, skus.get(key));
+            ps.setLong(5, entry.getValue()[0]);
+            ps.setLong(6, entry.getValue()[1]);
+        });
+    }
+
+    private void setValues(PreparedStatement ps, StockAdjustment adjustment) throws SQLException {
+        ps.setLong(1, adjustment.getProductId());
+        ps.setString(2, adjustment.getProductSku());
+        ps.setString(3, adjustment.getAdjustmentType());
+        ps.setInt(4, adjustment.getQuantityChange());
+        ps.setInt(5, adjustment.getPreviousQuantity());
+        ps.setInt(6, adjustment.getNewQuantity());
+        ps.setString(7, adjustment.getReason());
+        ps.setTimestamp(8, Timestamp.valueOf(adjustment.getCreatedAt()));
+        ps.setString(9, adjustment.getJournalId());
+    }
+
+    private record RollupKey(Long productId, LocalDate movementDate, String adjustmentType) {
+    }
+}
@@ -1,14 +1,21 @@
 package com.inventory.microservice.repository;
 
 import com.inventory.microservice.entity.StockAdjustment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface StockAdjustmentRepository extends JpaRepository<StockAdjustment, Long> {
+public interface StockAdjustmentRepository extends JpaRepository<StockAdjustment, Long>, StockAdjustmentBatchRepository {
 
     List<StockAdjustment> findByProductId(Long productId);
 
@@ -17,4 +24,22 @@ public interface StockAdjustmentRepository extends JpaRepository<StockAdjustment
     List<StockAdjustment> findByAdjustmentType(String adjustmentType);
 
     List<StockAdjustment> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    List<StockAdjustment> findByProductIdAndIdGreaterThanOrderByIdAsc(Long productId, Long afterId, Pageable pageable);
+
+    // The created_at range lets MySQL prune to the monthly partitions it covers
+    @Query("SELECT a FROM StockAdjustment a WHERE a.productId = :productId AND a.id > :afterId " +
+            "AND a.createdAt >= :from AND a.createdAt < :to ORDER BY a.id")
+    List<StockAdjustment> findHistoryBetween(@Param("productId") Long productId,
+                                             @Param("afterId") Long afterId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM StockAdjustment a WHERE a.productId = :productId ORDER BY a.id")
+    Stream<StockAdjustment> streamByProductId(@Param("productId") Long productId);
 }
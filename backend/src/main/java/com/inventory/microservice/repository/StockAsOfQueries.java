@@ -0,0 +1,20 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.dto.StockAsOf;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Point-in-time stock: the latest snapshot at or before the requested time plus the adjustments
+ * recorded after it, so the rows read are bounded by the snapshot interval rather than the history length.
+ */
+public interface StockAsOfQueries {
+
+    List<StockAsOf> findStockAsOf(Long productId, LocalDateTime asOf);
+
+    List<StockAsOf> findCategoryStockAsOf(String category, LocalDateTime asOf);
+
+    // Snapshots products with ids in [fromId, toId] that changed since their last snapshot; returns rows written
+    int captureSnapshots(LocalDateTime snapshotAt, long fromId, long toId);
+}
@@ -0,0 +1,70 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.dto.StockAsOf;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StockAsOfQueriesImpl implements StockAsOfQueries {
+
+    // Earliest value a TIMESTAMP column can hold; the replay lower bound for products without a snapshot
+    private static final Timestamp HISTORY_START = Timestamp.valueOf(LocalDateTime.of(1970, 1, 2, 0, 0));
+
+    // Latest snapshot at or before :asOf joined to each product (null when there is none)
+    private static final String LATEST_SNAPSHOT_JOIN =
+            "LEFT JOIN product_stock_snapshots s ON s.product_id = p.id AND s.snapshot_at = (" +
+                    "SELECT MAX(s2.snapshot_at) FROM product_stock_snapshots s2 " +
+                    "WHERE s2.product_id = p.id AND s2.snapshot_at <= ?) ";
+
+    // Net adjustments after the snapshot, up to :asOf; the created_at range prunes partitions
+    private static final String REPLAYED_DELTA =
+            "(SELECT SUM(a.quantity_change) FROM stock_adjustments a WHERE a.product_id = p.id " +
+                    "AND a.created_at > COALESCE(s.snapshot_at, ?) AND a.created_at <= ?)";
+
+    private static final String AS_OF_SELECT =
+            "SELECT p.id, p.sku, s.snapshot_at, COALESCE(s.stock_quantity, 0) + COALESCE(" + REPLAYED_DELTA + ", 0) " +
+                    "AS stock_quantity FROM products p " + LATEST_SNAPSHOT_JOIN;
+
+    private static final String CAPTURE_SQL =
+            "INSERT INTO product_stock_snapshots (product_id, snapshot_at, stock_quantity) " +
+                    "SELECT changed.id, ?, changed.base + changed.delta FROM (" +
+                    "SELECT p.id, COALESCE(s.stock_quantity, 0) AS base, " + REPLAYED_DELTA + " AS delta " +
+                    "FROM products p " + LATEST_SNAPSHOT_JOIN + "WHERE p.id BETWEEN ? AND ?) changed " +
+                    "WHERE changed.delta IS NOT NULL " +
+                    "ON DUPLICATE KEY UPDATE stock_quantity = VALUES(stock_quantity)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<StockAsOf> findStockAsOf(Long productId, LocalDateTime asOf) {
+        Timestamp at = Timestamp.valueOf(asOf);
+        return jdbcTemplate.query(AS_OF_SELECT + "WHERE p.id = ?", rowMapper(asOf),
+                HISTORY_START, at, at, productId);
+    }
+
+    @Override
+    public List<StockAsOf> findCategoryStockAsOf(String category, LocalDateTime asOf) {
+        Timestamp at = Timestamp.valueOf(asOf);
+        return jdbcTemplate.query(AS_OF_SELECT + "WHERE p.category = ? ORDER BY p.id", rowMapper(asOf),
+                HISTORY_START, at, at, category);
+    }
+
+    @Override
+    public int captureSnapshots(LocalDateTime snapshotAt, long fromId, long toId) {
+        Timestamp at = Timestamp.valueOf(snapshotAt);
+        return jdbcTemplate.update(CAPTURE_SQL, at, HISTORY_START, at, at, fromId, toId);
+    }
+
+    private static RowMapper<StockAsOf> rowMapper(LocalDateTime asOf) {
+        return (rs, rowNum) -> {
+            Timestamp snapshotAt = rs.getTimestamp("snapshot_at");
+            return new StockAsOf(rs.getLong("id"), rs.getString("sku"), asOf, rs.getInt("stock_quantity"),
+                    snapshotAt != null ? snapshotAt.toLocalDateTime() : null);
+        };
+    }
+}
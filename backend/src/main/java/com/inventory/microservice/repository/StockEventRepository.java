@@ -0,0 +1,33 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.StockEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockEventRepository extends JpaRepository<StockEvent, Long> {
+
+    // Locked so a relay on another instance cannot publish the same rows concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM StockEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<StockEvent> findUnpublishedForUpdate(Pageable pageable);
+
+    @Query("SELECT MAX(e.sequenceNumber) FROM StockEvent e")
+    Optional<Long> findMaxSequenceNumber();
+
+    List<StockEvent> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(Long afterSequenceNumber, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM StockEvent e WHERE e.publishedAt < :publishedBefore AND e.sequenceNumber < :keepFrom")
+    int deletePublishedBefore(@Param("publishedBefore") LocalDateTime publishedBefore, @Param("keepFrom") Long keepFrom);
+}
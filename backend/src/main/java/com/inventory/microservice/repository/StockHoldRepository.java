@@ -0,0 +1,42 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.entity.StockHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, String> {
+
+    // Plain insert; save() would look the new id up first
+    @Modifying
+    @Query(value = "INSERT INTO stock_holds (hold_id, product_id, quantity, created_at, expires_at) " +
+            "VALUES (:holdId, :productId, :quantity, :createdAt, :expiresAt)", nativeQuery = true)
+    int insert(@Param("holdId") String holdId,
+               @Param("productId") Long productId,
+               @Param("quantity") int quantity,
+               @Param("createdAt") LocalDateTime createdAt,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    // The deletes settle a hold; 0 means a concurrent confirm, release or expiry already did
+    @Modifying
+    @Query("DELETE FROM StockHold h WHERE h.holdId = :holdId")
+    int deleteHold(@Param("holdId") String holdId);
+
+    @Modifying
+    @Query("DELETE FROM StockHold h WHERE h.holdId = :holdId AND h.expiresAt > :now")
+    int deleteIfUnexpired(@Param("holdId") String holdId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StockHold h WHERE h.holdId = :holdId AND h.expiresAt <= :now")
+    int deleteIfExpired(@Param("holdId") String holdId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT h.holdId FROM StockHold h WHERE h.expiresAt <= :now ORDER BY h.expiresAt")
+    List<String> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.inventory.microservice.repository;
+
+import com.inventory.microservice.dto.DailyStockMovement;
+import com.inventory.microservice.entity.StockMovementDaily;
+import com.inventory.microservice.entity.StockMovementDailyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockMovementDailyRepository extends JpaRepository<StockMovementDaily, StockMovementDailyId> {
+
+    @Query("SELECT d.movementDate AS movementDate, d.adjustmentType AS adjustmentType, " +
+            "d.totalQuantity AS totalQuantity, d.adjustmentCount AS adjustmentCount " +
+            "FROM StockMovementDaily d WHERE d.productId = :productId " +
+            "AND d.movementDate BETWEEN :from AND :to ORDER BY d.movementDate, d.adjustmentType")
+    List<DailyStockMovement> findDailyByProduct(@Param("productId") Long productId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    @Query("SELECT d.movementDate AS movementDate, d.adjustmentType AS adjustmentType, " +
+            "SUM(d.totalQuantity) AS totalQuantity, SUM(d.adjustmentCount) AS adjustmentCount " +
+            "FROM StockMovementDaily d WHERE d.movementDate BETWEEN :from AND :to " +
+            "GROUP BY d.movementDate, d.adjustmentType ORDER BY d.movementDate, d.adjustmentType")
+    List<DailyStockMovement> findDailyTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM StockMovementDaily d WHERE d.movementDate BETWEEN :from AND :to")
+    int deleteBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Recomputes days in [from, to) from the raw adjustments that are still retained
+    @Modifying
+    @Query(value = "INSERT INTO stock_movement_daily " +
+            "(product_id, movement_date, adjustment_type, product_sku, total_quantity, adjustment_count) " +
+            "SELECT product_id, DATE(created_at), adjustment_type, MAX(product_sku), SUM(quantity_change), COUNT(*) " +
+            "FROM stock_adjustments WHERE created_at >= :from AND created_at < :to " +
+            "GROUP BY product_id, DATE(created_at), adjustment_type", nativeQuery = true)
+    int rebuildBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
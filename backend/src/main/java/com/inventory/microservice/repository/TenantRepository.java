@@ -4,6 +4,7 @@ import com.inventory.microservice.entity.Tenant;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +12,8 @@ public interface TenantRepository extends JpaRepository<Tenant, Long> {
 
     Optional<Tenant> findByTenantId(String tenantId);
 
+    List<Tenant> findByActiveTrue();
+
     Optional<Tenant> findBySchemaName(String schemaName);
 
     boolean existsByTenantId(String tenantId);
@@ -0,0 +1,197 @@
+package com.inventory.microservice.reservation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timer for large numbers of short, mostly cancelled timeouts. Scheduling and cancelling are O(1)
+ * and lock-free; a single worker thread advances a wheel of buckets once per tick and runs the tasks
+ * that are due, so tasks must be cheap. Expiry is accurate to one tick.
+ */
+@Slf4j
+public final class HashedWheelTimer {
+
+    // Bounds the work of one tick when a burst of timeouts is scheduled at once
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final Thread worker;
+    private final long startTime;
+
+    private volatile boolean running = true;
+    private long tick;
+
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        scheduled.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    // Timeouts scheduled and neither run nor cancelled yet
+    public int getScheduledCount() {
+        return scheduled.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            transferPending();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (dueTick - tick) / wheel.length;
+            // Already overdue timeouts go into the current bucket and run this tick
+            long targetTick = Math.max(dueTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Handle to a scheduled task. Cancelling is a flag; the worker drops the timeout when its bucket comes round.
+     */
+    public final class Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        private long remainingRounds;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        // Returns false if the task already ran or was cancelled before
+        public boolean cancel() {
+            if (state.compareAndSet(INIT, CANCELLED)) {
+                scheduled.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            scheduled.decrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Timer task failed", e);
+            }
+        }
+    }
+
+    // Intrusive singly linked list; only touched by the worker thread
+    private final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.next = null;
+            if (head == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void expire() {
+            Timeout previous = null;
+            Timeout current = head;
+            while (current != null) {
+                Timeout next = current.next;
+                boolean remove;
+                if (current.isCancelled()) {
+                    remove = true;
+                } else if (current.remainingRounds <= 0) {
+                    current.expire();
+                    remove = true;
+                } else {
+                    current.remainingRounds--;
+                    remove = false;
+                }
+
+                if (remove) {
+                    if (previous == null) {
+                        head = next;
+                    } else {
+                        previous.next = next;
+                    }
+                    if (current == tail) {
+                        tail = previous;
+                    }
+                    current.next = null;
+                } else {
+                    previous = current;
+                }
+                current = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventory.microservice.scheduler;
+
+import com.inventory.microservice.config.TenantRegistry;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.migration.StockAdjustmentPartitionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockAdjustmentRetentionJob {
+
+    private final TenantRegistry tenantRegistry;
+    private final TenantJobRunner tenantJobRunner;
+    private final StockAdjustmentPartitionManager partitionManager;
+
+    /**
+     * Runs every day at 3 AM
+     * Adds upcoming monthly stock_adjustments partitions and drops (or archives) expired ones
+     */
+    @Scheduled(cron = "${inventory.stock-adjustments.partitions.cron:0 0 3 * * ?}")
+    public void maintainPartitions() {
+        log.info("Starting stock adjustment partition maintenance");
+
+        List<Tenant> activeTenants = tenantRegistry.getActiveTenants();
+
+        tenantJobRunner.run("stock-adjustment-partitions", activeTenants,
+                tenant -> partitionManager.maintain(tenant.getTenantId(), tenant.getSchemaName()));
+    }
+}
@@ -1,15 +1,17 @@
 package com.inventory.microservice.scheduler;
 
-import com.inventory.microservice.config.TenantContext;
-import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.config.TenantRegistry;
+import com.inventory.microservice.entity.InventorySnapshot;
 import com.inventory.microservice.entity.Tenant;
-import com.inventory.microservice.repository.ProductRepository;
-import com.inventory.microservice.repository.TenantRepository;
+import com.inventory.microservice.repository.LowStockItemRepository;
+import com.inventory.microservice.service.InventorySnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Component
@@ -17,34 +19,24 @@ import java.util.List;
 @Slf4j
 public class StockReconciliationJob {
 
-    private final TenantRepository tenantRepository;
-    private final ProductRepository productRepository;
+    private final TenantRegistry tenantRegistry;
+    private final LowStockItemRepository lowStockItemRepository;
+    private final TenantJobRunner tenantJobRunner;
+    private final InventorySnapshotService inventorySnapshotService;
 
     /**
      * Runs stock reconciliation for all tenants every day at 2 AM
-     * Checks for products that need reordering and logs alerts
+     * Stores a per-category inventory snapshot and logs reorder alerts
      */
     @Scheduled(cron = "0 0 2 * * ?") // Every day at 2 AM
     public void reconcileStock() {
         log.info("Starting daily stock reconciliation job");
 
-        List<Tenant> activeTenants = tenantRepository.findAll().stream()
-                .filter(Tenant::getActive)
-                .toList();
+        List<Tenant> activeTenants = tenantRegistry.getActiveTenants();
 
         log.info("Found {} active tenants for reconciliation", activeTenants.size());
 
-        for (Tenant tenant : activeTenants) {
-            try {
-                reconcileStockForTenant(tenant);
-            } catch (Exception e) {
-                log.error("Error reconciling stock for tenant: {}", tenant.getTenantId(), e);
-            } finally {
-                TenantContext.clear();
-            }
-        }
-
-        log.info("Stock reconciliation job completed");
+        tenantJobRunner.run("stock-reconciliation", activeTenants, this::reconcileStockForTenant);
     }
 
     /**
@@ -54,59 +46,44 @@ public class StockReconciliationJob {
     public void checkLowStockItems() {
         log.debug("Running hourly low stock check");
 
-        List<Tenant> activeTenants = tenantRepository.findAll().stream()
-                .filter(Tenant::getActive)
-                .toList();
-
-        for (Tenant tenant : activeTenants) {
-            try {
-                checkLowStockForTenant(tenant);
-            } catch (Exception e) {
-                log.error("Error checking low stock for tenant: {}", tenant.getTenantId(), e);
-            } finally {
-                TenantContext.clear();
-            }
-        }
+        List<Tenant> activeTenants = tenantRegistry.getActiveTenants();
+
+        tenantJobRunner.run("low-stock-check", activeTenants, this::checkLowStockForTenant);
     }
 
+    // Runs on a TenantJobRunner worker with the tenant already bound to TenantContext
     private void reconcileStockForTenant(Tenant tenant) {
         log.info("Reconciling stock for tenant: {}", tenant.getTenantId());
-        TenantContext.setCurrentTenant(tenant.getTenantId());
 
-        List<Product> allProducts = productRepository.findAll();
-        int totalProducts = allProducts.size();
-        int activeProducts = (int) allProducts.stream().filter(Product::getActive).count();
-        int inactiveProducts = totalProducts - activeProducts;
+        List<InventorySnapshot> snapshots = inventorySnapshotService.captureSnapshot(LocalDate.now());
+
+        long totalProducts = snapshots.stream().mapToLong(InventorySnapshot::getTotalProducts).sum();
+        long activeProducts = snapshots.stream().mapToLong(InventorySnapshot::getActiveProducts).sum();
+        long inactiveProducts = totalProducts - activeProducts;
 
         log.info("Tenant {} - Total products: {}, Active: {}, Inactive: {}",
                 tenant.getTenantId(), totalProducts, activeProducts, inactiveProducts);
 
         // Check for products needing reorder
-        List<Product> reorderProducts = productRepository.findProductsNeedingReorder();
-        if (!reorderProducts.isEmpty()) {
-            log.warn("Tenant {} - {} products need reordering:", tenant.getTenantId(), reorderProducts.size());
-            for (Product product : reorderProducts) {
-                log.warn("  - {} (SKU: {}) - Current stock: {}, Reorder level: {}",
-                        product.getName(), product.getSku(), product.getStockQuantity(), product.getReorderLevel());
-            }
+        long reorderProducts = snapshots.stream().mapToLong(InventorySnapshot::getBelowReorderProducts).sum();
+        if (reorderProducts > 0) {
+            log.warn("Tenant {} - {} products need reordering", tenant.getTenantId(), reorderProducts);
         }
 
         // Calculate total inventory value
-        double totalValue = allProducts.stream()
-                .filter(Product::getActive)
-                .mapToDouble(p -> p.getPrice().doubleValue() * p.getStockQuantity())
-                .sum();
+        BigDecimal totalValue = snapshots.stream()
+                .map(InventorySnapshot::getInventoryValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        log.info("Tenant {} - Total inventory value: ${}", tenant.getTenantId(), String.format("%.2f", totalValue));
+        log.info("Tenant {} - Total inventory value: ${}", tenant.getTenantId(), totalValue.toPlainString());
     }
 
+    // Hourly digest only; crossings are pushed as they happen by LowStockNotifier
     private void checkLowStockForTenant(Tenant tenant) {
-        TenantContext.setCurrentTenant(tenant.getTenantId());
-
-        List<Product> reorderProducts = productRepository.findProductsNeedingReorder();
-        if (!reorderProducts.isEmpty()) {
+        long reorderProducts = lowStockItemRepository.count();
+        if (reorderProducts > 0) {
             log.warn("Tenant {} - ALERT: {} products below reorder level",
-                    tenant.getTenantId(), reorderProducts.size());
+                    tenant.getTenantId(), reorderProducts);
         }
     }
 }
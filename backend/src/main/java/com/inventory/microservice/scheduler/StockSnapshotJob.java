@@ -0,0 +1,34 @@
+package com.inventory.microservice.scheduler;
+
+import com.inventory.microservice.config.TenantRegistry;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.service.StockAsOfService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockSnapshotJob {
+
+    private final TenantRegistry tenantRegistry;
+    private final TenantJobRunner tenantJobRunner;
+    private final StockAsOfService stockAsOfService;
+
+    /**
+     * Runs every day at 1 AM by default
+     * The snapshot interval bounds how many adjustments an as-of query replays
+     */
+    @Scheduled(cron = "${inventory.stock-snapshots.cron:0 0 1 * * ?}")
+    public void captureSnapshots() {
+        log.info("Starting product stock snapshot job");
+
+        List<Tenant> activeTenants = tenantRegistry.getActiveTenants();
+
+        tenantJobRunner.run("stock-snapshots", activeTenants, tenant -> stockAsOfService.captureSnapshots());
+    }
+}
@@ -0,0 +1,183 @@
+package com.inventory.microservice.scheduler;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.JobRunSummary;
+import com.inventory.microservice.dto.TenantJobResult;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.metrics.TenantMetricTags;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs a scheduled job's per-tenant work on a bounded pool. Each task runs with its tenant bound to
+ * {@link TenantContext}, is interrupted once it exceeds the per-tenant timeout, and a job that is
+ * still running when its next trigger fires is skipped instead of overlapping itself. A timed out task
+ * that ignores the interrupt (typically stuck in JDBC) keeps its tenant out of later runs of the job
+ * until it returns. Tenants whose schema migrations have not run yet are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantJobRunner {
+
+    private final MeterRegistry meterRegistry;
+    private final TenantMetricTags tenantMetricTags;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
+
+    @Value("${inventory.jobs.parallelism:8}")
+    private int parallelism;
+
+    @Value("${inventory.jobs.tenant-timeout-ms:300000}")
+    private long tenantTimeoutMs;
+
+    private final Map<String, Boolean> runningJobs = new ConcurrentHashMap<>();
+    // job/tenant pairs whose task has not returned, including ones already reported as timed out
+    private final Set<String> inFlightTasks = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executor;
+    private ScheduledExecutorService watchdog;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism), new CustomizableThreadFactory("tenant-job-"));
+        watchdog = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("tenant-job-watchdog-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Runs {@code work} once per tenant and waits for all of them. Returns empty if the job was already running.
+     */
+    public Optional<JobRunSummary> run(String jobName, List<Tenant> tenants, Consumer<Tenant> work) {
+        if (runningJobs.putIfAbsent(jobName, Boolean.TRUE) != null) {
+            log.warn("Skipping {}: previous run is still in progress", jobName);
+            return Optional.empty();
+        }
+
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.currentTimeMillis();
+
+            List<CompletableFuture<TenantJobResult>> futures = tenants.stream()
+                    .map(tenant -> submit(jobName, tenant, work))
+                    .toList();
+            List<TenantJobResult> results = futures.stream().map(CompletableFuture::join).toList();
+
+            JobRunSummary summary = new JobRunSummary(jobName, startedAt, System.currentTimeMillis() - start,
+                    count(results, TenantJobResult.Status.SUCCEEDED),
+                    count(results, TenantJobResult.Status.FAILED),
+                    count(results, TenantJobResult.Status.TIMED_OUT),
+                    count(results, TenantJobResult.Status.SKIPPED),
+                    results);
+            recordMetrics(summary);
+            logSummary(summary);
+            return Optional.of(summary);
+        } finally {
+            runningJobs.remove(jobName);
+        }
+    }
+
+    private CompletableFuture<TenantJobResult> submit(String jobName, Tenant tenant, Consumer<Tenant> work) {
+        String tenantId = tenant.getTenantId();
+        String taskKey = jobName + "/" + tenantId;
+        if (!tenantSchemaMigrator.isReady(tenantId)) {
+            log.warn("Skipping {} for tenant: {}: schema migration pending", jobName, tenantId);
+            return CompletableFuture.completedFuture(new TenantJobResult(tenantId, TenantJobResult.Status.SKIPPED,
+                    0, "Schema migration pending"));
+        }
+        if (!inFlightTasks.add(taskKey)) {
+            log.warn("Skipping {} for tenant: {}: its previous task has not returned", jobName, tenantId);
+            return CompletableFuture.completedFuture(new TenantJobResult(tenantId, TenantJobResult.Status.SKIPPED,
+                    0, "Previous task still running"));
+        }
+
+        CompletableFuture<TenantJobResult> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            long start = System.currentTimeMillis();
+            Thread worker = Thread.currentThread();
+            Object guard = new Object();
+            boolean[] finished = {false};
+
+            ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+                synchronized (guard) {
+                    if (!finished[0] && result.complete(new TenantJobResult(tenantId, TenantJobResult.Status.TIMED_OUT,
+                            System.currentTimeMillis() - start, "Timed out after " + tenantTimeoutMs + " ms"))) {
+                        worker.interrupt();
+                    }
+                }
+            }, tenantTimeoutMs, TimeUnit.MILLISECONDS);
+
+            try {
+                TenantContext.runInTenant(tenantId, () -> work.accept(tenant));
+                result.complete(new TenantJobResult(tenantId, TenantJobResult.Status.SUCCEEDED,
+                        System.currentTimeMillis() - start, null));
+            } catch (Exception e) {
+                log.error("Job failed for tenant: {}", tenantId, e);
+                result.complete(new TenantJobResult(tenantId, TenantJobResult.Status.FAILED,
+                        System.currentTimeMillis() - start, e.getMessage()));
+            } finally {
+                synchronized (guard) {
+                    finished[0] = true;
+                }
+                timeout.cancel(false);
+                inFlightTasks.remove(taskKey);
+                // Drop an interrupt from the watchdog so the pooled thread starts its next task clean
+                Thread.interrupted();
+            }
+        });
+        return result;
+    }
+
+    private void recordMetrics(JobRunSummary summary) {
+        for (TenantJobResult result : summary.tenants()) {
+            Timer.builder("inventory.jobs.tenant.duration")
+                    .description("Time a scheduled job spent on one tenant")
+                    .tag("job", summary.jobName())
+                    .tag(TenantMetricTags.TAG, tenantMetricTags.tagFor(result.tenantId()))
+                    .tag("status", result.status().name())
+                    .register(meterRegistry)
+                    .record(result.durationMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static long count(List<TenantJobResult> results, TenantJobResult.Status status) {
+        return results.stream().filter(result -> result.status() == status).count();
+    }
+
+    private static void logSummary(JobRunSummary summary) {
+        log.info("{} finished in {} ms - tenants: {}, succeeded: {}, failed: {}, timed out: {}, skipped: {}",
+                summary.jobName(), summary.durationMs(), summary.tenants().size(),
+                summary.succeeded(), summary.failed(), summary.timedOut(), summary.skipped());
+        summary.tenants().stream()
+                .sorted(Comparator.comparingLong(TenantJobResult::durationMs).reversed())
+                .limit(10)
+                .forEach(result -> log.info("  {} - {} in {} ms", result.tenantId(), result.status(), result.durationMs()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.inventory.microservice.search;
+
+import com.inventory.microservice.entity.Product;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of matches plus facet counts. Each facet is counted with every filter applied except its own,
+ * so the category counts show what picking another category would return.
+ */
+public record ProductSearchHits(
+        List<Product> products,
+        long total,
+        Map<String, Long> categoryCounts,
+        long inStockCount,
+        long outOfStockCount
+) {
+}
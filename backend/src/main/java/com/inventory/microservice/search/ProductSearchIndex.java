@@ -0,0 +1,270 @@
+package com.inventory.microservice.search;
+
+import com.inventory.microservice.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the active products of one tenant. Terms come from the SKU, name,
+ * category and description, weighted in that order; a product's score is the sum of the weights of
+ * the query terms it contains. Inactive products are not indexed.
+ * <p>
+ * Readers share a read lock; writes take the write lock only for the postings they touch. A put is
+ * ignored when the indexed row, or the row that removed the product, has a newer {@code @Version}, so
+ * late events and a concurrent rebuild cannot bring back stale data.
+ */
+public final class ProductSearchIndex {
+
+    private static final int SKU_WEIGHT = 8;
+    private static final int NAME_WEIGHT = 4;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(hit -> hit.product().getId());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Sorted so the last query term can be matched as a prefix with one range lookup
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // Version at which each removed product left the index, so an older active row cannot re-add it
+    private final Map<Long, Long> removedVersions = new HashMap<>();
+
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            Long removedVersion = removedVersions.get(product.getId());
+            if (removedVersion != null && product.getVersion() != null && product.getVersion() < removedVersion) {
+                return;
+            }
+            Document existing = documents.get(product.getId());
+            if (existing != null && isOlder(product, existing.product())) {
+                return;
+            }
+            if (!Boolean.TRUE.equals(product.getActive())) {
+                removeDocument(product.getId());
+                if (product.getVersion() != null) {
+                    removedVersions.merge(product.getId(), product.getVersion(), Math::max);
+                }
+                return;
+            }
+            removedVersions.remove(product.getId());
+
+            Map<String, Integer> terms;
+            if (existing != null && sameText(existing.product(), product)) {
+                // Stock and price changes are the common case and do not touch the postings
+                terms = existing.terms();
+            } else {
+                if (existing != null) {
+                    removePostings(product.getId(), existing.terms());
+                }
+                terms = termsOf(product);
+                terms.forEach((term, weight) ->
+                        postings.computeIfAbsent(term, key -> new HashMap<>()).put(product.getId(), weight));
+            }
+            documents.put(product.getId(), new Document(snapshotOf(product), terms));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // For rows that are gone for good; the product can never be indexed again
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+            removedVersions.put(productId, Long.MAX_VALUE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void removeDocument(Long productId) {
+        Document removed = documents.remove(productId);
+        if (removed != null) {
+            removePostings(productId, removed.terms());
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ProductSearchHits search(ProductSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = match(tokenize(query.text()));
+            Map<String, Long> categoryCounts = new TreeMap<>();
+            long inStockCount = 0;
+            long outOfStockCount = 0;
+            long total = 0;
+
+            // Keep only the best (page + 1) * size hits instead of sorting every match
+            int wanted = (query.page() + 1) * query.size();
+            PriorityQueue<Hit> best = new PriorityQueue<>(BEST_FIRST.reversed());
+
+            for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                Product product = documents.get(entry.getKey()).product();
+                boolean categoryMatches = query.category() == null ||
+                        query.category().equalsIgnoreCase(product.getCategory());
+                boolean inStock = product.getStockQuantity() > 0;
+                boolean stockMatches = query.inStock() == null || query.inStock() == inStock;
+                boolean priceMatches = inPriceRange(product.getPrice(), query.priceMin(), query.priceMax());
+
+                if (stockMatches && priceMatches) {
+                    categoryCounts.merge(product.getCategory(), 1L, Long::sum);
+                }
+                if (categoryMatches && priceMatches) {
+                    if (inStock) {
+                        inStockCount++;
+                    } else {
+                        outOfStockCount++;
+                    }
+                }
+                if (categoryMatches && stockMatches && priceMatches) {
+                    total++;
+                    best.add(new Hit(product, entry.getValue()));
+                    if (best.size() > wanted) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(BEST_FIRST);
+            int from = Math.min(query.page() * query.size(), ranked.size());
+            List<Product> page = ranked.subList(from, ranked.size()).stream().map(Hit::product).toList();
+            return new ProductSearchHits(page, total, categoryCounts, inStockCount, outOfStockCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock. An empty query matches every product with score 0
+    private Map<Long, Integer> match(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            Map<Long, Integer> all = new HashMap<>(documents.size() * 2);
+            documents.keySet().forEach(id -> all.put(id, 0));
+            return all;
+        }
+
+        Map<Long, Integer> scores = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean last = i == tokens.size() - 1;
+            Map<Long, Integer> matches = last ? prefixMatches(tokens.get(i)) : postings.getOrDefault(tokens.get(i), Map.of());
+            if (scores == null) {
+                scores = new HashMap<>(matches);
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((id, score) -> score + matches.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<Long, Integer> prefixMatches(String prefix) {
+        NavigableMap<String, Map<Long, Integer>> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue();
+        }
+        Map<Long, Integer> merged = new HashMap<>();
+        for (Map<Long, Integer> termPostings : range.values()) {
+            termPostings.forEach((id, weight) -> merged.merge(id, weight, Math::max));
+        }
+        return merged;
+    }
+
+    private void removePostings(Long productId, Map<String, Integer> terms) {
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> termsOf(Product product) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, product.getSku(), SKU_WEIGHT);
+        // The whole SKU is a term too, so "ABC-123" finds the product as typed
+        if (product.getSku() != null) {
+            terms.merge(product.getSku().toLowerCase(Locale.ROOT), SKU_WEIGHT, Integer::sum);
+        }
+        addTerms(terms, product.getName(), NAME_WEIGHT);
+        addTerms(terms, product.getCategory(), CATEGORY_WEIGHT);
+        addTerms(terms, product.getDescription(), DESCRIPTION_WEIGHT);
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        // Each term counts once per field however often it repeats
+        tokenize(text).stream().distinct().forEach(token -> terms.merge(token, weight, Integer::sum));
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean inPriceRange(BigDecimal price, BigDecimal min, BigDecimal max) {
+        return (min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) <= 0);
+    }
+
+    private static boolean sameText(Product current, Product incoming) {
+        return Objects.equals(current.getSku(), incoming.getSku())
+                && Objects.equals(current.getName(), incoming.getName())
+                && Objects.equals(current.getCategory(), incoming.getCategory())
+                && Objects.equals(current.getDescription(), incoming.getDescription());
+    }
+
+    private static boolean isOlder(Product incoming, Product current) {
+        if (incoming.getVersion() == null || current.getVersion() == null) {
+            return false;
+        }
+        return incoming.getVersion() < current.getVersion();
+    }
+
+    private static Product snapshotOf(Product product) {
+        return new Product(product.getId(), product.getSku(), product.getName(), product.getDescription(),
+                product.getCategory(), product.getPrice(), product.getStockQuantity(), product.getReservedQuantity(),
+                product.getReorderLevel(), product.getActive(), product.getVersion(), product.getCreatedAt(),
+                product.getUpdatedAt());
+    }
+
+    private record Document(Product product, Map<String, Integer> terms) {
+    }
+
+    private record Hit(Product product, int score) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.inventory.microservice.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Parsed search request. {@code text} terms are ANDed, with the last term also matching as a prefix.
+ * Null filters are not applied.
+ */
+public record ProductSearchQuery(
+        String text,
+        String category,
+        Boolean inStock,
+        BigDecimal priceMin,
+        BigDecimal priceMax,
+        int page,
+        int size
+) {
+}
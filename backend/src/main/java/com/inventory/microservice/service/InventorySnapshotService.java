@@ -0,0 +1,68 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.dto.CategoryStockSummary;
+import com.inventory.microservice.entity.InventorySnapshot;
+import com.inventory.microservice.repository.InventorySnapshotRepository;
+import com.inventory.microservice.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventorySnapshotService {
+
+    private final ProductRepository productRepository;
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+
+    /**
+     * Aggregates the current tenant's catalog per category and stores it as that day's snapshot,
+     * replacing any snapshot already taken for the same day.
+     */
+    @Transactional
+    public List<InventorySnapshot> captureSnapshot(LocalDate snapshotDate) {
+        List<CategoryStockSummary> summaries = productRepository.summarizeByCategory();
+
+        inventorySnapshotRepository.deleteBySnapshotDate(snapshotDate);
+        List<InventorySnapshot> snapshots = summaries.stream()
+                .map(summary -> toSnapshot(snapshotDate, summary))
+                .toList();
+
+        log.debug("Captured inventory snapshot for {} with {} categories", snapshotDate, snapshots.size());
+        return inventorySnapshotRepository.saveAll(snapshots);
+    }
+
+    // Defaults to the most recent snapshot when no date is given
+    public List<InventorySnapshot> getSnapshots(LocalDate snapshotDate) {
+        LocalDate date = snapshotDate != null
+                ? snapshotDate
+                : inventorySnapshotRepository.findLatestSnapshotDate().orElse(null);
+        if (date == null) {
+            return List.of();
+        }
+        return inventorySnapshotRepository.findBySnapshotDateOrderByCategoryAsc(date);
+    }
+
+    private static InventorySnapshot toSnapshot(LocalDate snapshotDate, CategoryStockSummary summary) {
+        long total = summary.getTotalProducts();
+        long active = summary.getActiveProducts() != null ? summary.getActiveProducts() : 0;
+        BigDecimal value = summary.getInventoryValue() != null ? summary.getInventoryValue() : BigDecimal.ZERO;
+
+        InventorySnapshot snapshot = new InventorySnapshot();
+        snapshot.setSnapshotDate(snapshotDate);
+        snapshot.setCategory(summary.getCategory());
+        snapshot.setTotalProducts(total);
+        snapshot.setActiveProducts(active);
+        snapshot.setInactiveProducts(total - active);
+        snapshot.setBelowReorderProducts(summary.getBelowReorderProducts() != null ? summary.getBelowReorderProducts() : 0);
+        snapshot.setInventoryValue(value.setScale(2, RoundingMode.HALF_UP));
+        return snapshot;
+    }
+}
@@ -0,0 +1,22 @@
+package com.inventory.microservice.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link LowStockTracker} when a product crosses its reorder level in either direction.
+ */
+public record LowStockEvent(
+        String tenantId,
+        Long productId,
+        String sku,
+        int stockQuantity,
+        int reorderLevel,
+        Type type,
+        LocalDateTime occurredAt
+) {
+
+    public enum Type {
+        BELOW_REORDER_LEVEL,
+        RECOVERED
+    }
+}
@@ -0,0 +1,74 @@
+package com.inventory.microservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes committed {@link LowStockEvent}s to the tenant's open server-sent event streams.
+ * Sends happen on a dedicated thread so a slow client never holds up the writing request.
+ */
+@Component
+@Slf4j
+public class LowStockNotifier {
+
+    @Value("${inventory.low-stock.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "low-stock-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SseEmitter subscribe(String tenantId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(tenantId, key -> ConcurrentHashMap.newKeySet());
+        emitters.add(emitter);
+
+        Runnable unsubscribe = () -> emitters.remove(emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        log.debug("Tenant {} subscribed to low-stock events ({} open streams)", tenantId, emitters.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onLowStock(LowStockEvent event) {
+        Set<SseEmitter> emitters = subscribers.get(event.tenantId());
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> emitters.forEach(emitter -> send(emitters, emitter, event)));
+    }
+
+    private void send(Set<SseEmitter> emitters, SseEmitter emitter, LowStockEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(event.type().name())
+                    .data(event));
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.repository.LowStockItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps {@code low_stock_items} in step with product writes. Runs inside the writing transaction,
+ * so the set commits or rolls back together with the stock change that moved the product across
+ * its reorder level. Rows are only written when a product crosses its level or the level changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LowStockTracker {
+
+    private final LowStockItemRepository lowStockItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.product();
+        int stockQuantity = product.getStockQuantity();
+        int reorderLevel = product.getReorderLevel();
+
+        // Most writes leave the product on the same side of its reorder level; those need no SQL
+        Integer previousStock = event.previousStockQuantity();
+        Integer previousLevel = event.previousReorderLevel();
+        if (previousStock != null && previousLevel != null && previousLevel == reorderLevel
+                && (previousStock <= reorderLevel) == (stockQuantity <= reorderLevel)) {
+            return;
+        }
+
+        if (stockQuantity <= reorderLevel) {
+            int inserted = lowStockItemRepository.insertIfAbsent(product.getId(), product.getSku(),
+                    stockQuantity, reorderLevel, LocalDateTime.now());
+            if (inserted > 0) {
+                publish(event.tenantId(), product, LowStockEvent.Type.BELOW_REORDER_LEVEL);
+            } else {
+                lowStockItemRepository.updateLevels(product.getId(), product.getSku(), stockQuantity, reorderLevel);
+            }
+        } else if (lowStockItemRepository.deleteByProductId(product.getId()) > 0) {
+            publish(event.tenantId(), product, LowStockEvent.Type.RECOVERED);
+        }
+    }
+
+    private void publish(String tenantId, Product product, LowStockEvent.Type type) {
+        log.info("Tenant {} - product {} {} (stock: {}, reorder level: {})", tenantId, product.getSku(),
+                type == LowStockEvent.Type.BELOW_REORDER_LEVEL ? "fell below reorder level" : "recovered",
+                product.getStockQuantity(), product.getReorderLevel());
+        eventPublisher.publishEvent(new LowStockEvent(tenantId, product.getId(), product.getSku(),
+                product.getStockQuantity(), product.getReorderLevel(), type, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,135 @@
+package com.inventory.microservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inventory.microservice.dto.ProductCacheStats;
+import com.inventory.microservice.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache of products by id and SKU, with one bounded cache per tenant so a tenant
+ * can never be served another tenant's rows. Entries are detached snapshots; a write only replaces
+ * an entry when its {@code @Version} is not older, so a slow reader cannot put back a stale row.
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    @Value("${inventory.cache.products.maximum-size-per-tenant:10000}")
+    private long maximumSizePerTenant;
+
+    @Value("${inventory.cache.products.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, TenantProductCache> tenants = new ConcurrentHashMap<>();
+
+    public Optional<Product> getById(String tenantId, Long id) {
+        if (tenantId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cacheFor(tenantId).byId.getIfPresent(id));
+    }
+
+    public Optional<Product> getBySku(String tenantId, String sku) {
+        if (tenantId == null) {
+            return Optional.empty();
+        }
+        TenantProductCache cache = cacheFor(tenantId);
+        Long id = cache.idBySku.getIfPresent(sku);
+        return id != null ? Optional.ofNullable(cache.byId.getIfPresent(id)) : Optional.empty();
+    }
+
+    public void put(String tenantId, Product product) {
+        if (tenantId == null || product == null || product.getId() == null) {
+            return;
+        }
+        TenantProductCache cache = cacheFor(tenantId);
+        cache.byId.asMap().merge(product.getId(), snapshotOf(product),
+                (current, incoming) -> isOlder(incoming, current) ? current : incoming);
+        cache.idBySku.put(product.getSku(), product.getId());
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        put(event.tenantId(), event.product());
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.products().forEach(product -> put(event.tenantId(), product));
+    }
+
+    public void evictTenant(String tenantId) {
+        TenantProductCache cache = tenants.remove(tenantId);
+        if (cache != null) {
+            cache.byId.invalidateAll();
+            cache.idBySku.invalidateAll();
+            log.info("Evicted product cache for tenant: {}", tenantId);
+        }
+    }
+
+    public List<ProductCacheStats> getStats() {
+        return tenants.entrySet().stream()
+                .map(entry -> toStats(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(ProductCacheStats::tenantId))
+                .toList();
+    }
+
+    private TenantProductCache cacheFor(String tenantId) {
+        return tenants.computeIfAbsent(tenantId, id -> new TenantProductCache(maximumSizePerTenant, ttlSeconds));
+    }
+
+    private static boolean isOlder(Product incoming, Product current) {
+        if (incoming.getVersion() == null || current.getVersion() == null) {
+            return false;
+        }
+        return incoming.getVersion() < current.getVersion();
+    }
+
+    private static Product snapshotOf(Product product) {
+        return new Product(product.getId(), product.getSku(), product.getName(), product.getDescription(),
+                product.getCategory(), product.getPrice(), product.getStockQuantity(), product.getReservedQuantity(),
+                product.getReorderLevel(), product.getActive(), product.getVersion(), product.getCreatedAt(),
+                product.getUpdatedAt());
+    }
+
+    private static ProductCacheStats toStats(String tenantId, TenantProductCache cache) {
+        CacheStats byId = cache.byId.stats();
+        CacheStats bySku = cache.idBySku.stats();
+        long hits = byId.hitCount();
+        long misses = byId.missCount() + bySku.missCount();
+        double hitRate = hits + misses == 0 ? 1.0 : (double) hits / (hits + misses);
+        return new ProductCacheStats(tenantId, cache.byId.estimatedSize(), hits, misses,
+                byId.evictionCount(), hitRate);
+    }
+
+    private static final class TenantProductCache {
+
+        private final Cache<Long, Product> byId;
+        private final Cache<String, Long> idBySku;
+
+        private TenantProductCache(long maximumSize, long ttlSeconds) {
+            this.byId = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                    .recordStats()
+                    .build();
+            this.idBySku = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                    .recordStats()
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.entity.Product;
+
+/**
+ * Published by {@link ProductService} whenever a product row is written. Listeners that must only
+ * see committed state use {@code @TransactionalEventListener}; by then the entity carries its new version.
+ * The previous stock quantity and reorder level are null for a new product.
+ */
+public record ProductChangedEvent(String tenantId, Product product,
+                                  Integer previousStockQuantity, Integer previousReorderLevel) {
+
+    public ProductChangedEvent(String tenantId, Product product) {
+        this(tenantId, product, null, null);
+    }
+}
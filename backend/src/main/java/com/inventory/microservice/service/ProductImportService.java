@@ -0,0 +1,234 @@
+package com.inventory.microservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.CreateProductRequest;
+import com.inventory.microservice.dto.ProductImportResult;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.entity.StockAdjustment;
+import com.inventory.microservice.importer.ProductImportFormat;
+import com.inventory.microservice.importer.ProductImportProgress;
+import com.inventory.microservice.importer.ProductImportReader;
+import com.inventory.microservice.importer.ProductImportRow;
+import com.inventory.microservice.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming product import. Rows are read one at a time, validated against the
+ * {@link CreateProductRequest} constraints and upserted by SKU in chunks, each chunk in its own
+ * transaction: new SKUs get their initial stock recorded as bulk RESTOCK adjustments, existing SKUs
+ * have their catalog fields updated and keep their stock. A chunk that fails is retried row by row
+ * so one bad row does not reject its neighbours.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    private final ProductRepository productRepository;
+    private final StockAdjustmentWriter stockAdjustmentWriter;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${inventory.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${inventory.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${inventory.import.retained-results:50}")
+    private int retainedResults;
+
+    @Value("${inventory.import.progress-log-interval:50000}")
+    private long progressLogInterval;
+
+    private final Map<String, ProductImportProgress> imports = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ProductImportResult importProducts(InputStream in, ProductImportFormat format) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new RuntimeException("Tenant ID is required for product import");
+        }
+
+        ProductImportProgress progress = new ProductImportProgress(UUID.randomUUID().toString(), tenantId,
+                format, maxReportedErrors);
+        register(progress);
+        log.info("Starting {} product import {} for tenant: {}", format, progress.getImportId(), tenantId);
+
+        long rows = 0;
+        try (ProductImportReader reader = ProductImportReader.open(in, format, objectMapper)) {
+            Map<String, ProductImportRow> chunk = new LinkedHashMap<>();
+            ProductImportRow row;
+            while ((row = reader.next()) != null) {
+                progress.rowRead();
+                if (++rows % progressLogInterval == 0) {
+                    log.info("Import {} progress: {}", progress.getImportId(), progress.toResult());
+                }
+
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    progress.rowFailed(row.line(), row.sku(), error);
+                    continue;
+                }
+                // A repeated SKU goes into the next chunk so it is applied as an update of the first
+                if (chunk.containsKey(row.sku()) || chunk.size() >= chunkSize) {
+                    writeChunk(tenantId, new ArrayList<>(chunk.values()), progress);
+                    chunk.clear();
+                }
+                chunk.put(row.sku(), row);
+            }
+            writeChunk(tenantId, new ArrayList<>(chunk.values()), progress);
+            progress.finish(ProductImportProgress.Status.COMPLETED);
+        } catch (IOException | RuntimeException e) {
+            progress.finish(ProductImportProgress.Status.FAILED);
+            log.error("Product import {} for tenant {} failed after {} rows", progress.getImportId(), tenantId, rows, e);
+            throw new RuntimeException("Import " + progress.getImportId() + " failed after " + rows +
+                    " rows: " + e.getMessage(), e);
+        }
+
+        ProductImportResult result = progress.toResult();
+        log.info("Finished product import {} for tenant {}: {} rows, {} created, {} updated, {} failed",
+                result.importId(), tenantId, result.rowsRead(), result.created(), result.updated(), result.failed());
+        return result;
+    }
+
+    public ProductImportResult getImport(String importId) {
+        ProductImportProgress progress = imports.get(importId);
+        if (progress == null || !progress.getTenantId().equals(TenantContext.getCurrentTenant())) {
+            throw new RuntimeException("Import not found: " + importId);
+        }
+        return progress.toResult();
+    }
+
+    public List<ProductImportResult> getImports() {
+        String tenantId = TenantContext.getCurrentTenant();
+        return imports.values().stream()
+                .filter(progress -> progress.getTenantId().equals(tenantId))
+                .map(ProductImportProgress::toResult)
+                .sorted(Comparator.comparing(ProductImportResult::startedAt).reversed())
+                .toList();
+    }
+
+    private void writeChunk(String tenantId, List<ProductImportRow> rows, ProductImportProgress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            int created = transactionTemplate.execute(status -> upsertChunk(tenantId, rows));
+            progress.rowsWritten(created, rows.size() - created);
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                ProductImportRow row = rows.get(0);
+                progress.rowFailed(row.line(), row.sku(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            log.warn("Import chunk of {} rows failed, retrying row by row: {}", rows.size(), e.getMessage());
+            rows.forEach(row -> writeChunk(tenantId, List.of(row), progress));
+        }
+    }
+
+    // Returns the number of products created by this chunk
+    private int upsertChunk(String tenantId, List<ProductImportRow> rows) {
+        List<String> skus = rows.stream().map(ProductImportRow::sku).toList();
+        Map<String, Long> existing = productRepository.lockIdsBySku(skus);
+        LocalDateTime now = LocalDateTime.now();
+
+        productRepository.upsertAll(rows.stream().map(row -> toProduct(row.request())).toList(), now);
+        List<Product> products = productRepository.findBySkuIn(skus);
+
+        List<StockAdjustment> initialStock = new ArrayList<>();
+        int created = 0;
+        for (Product product : products) {
+            if (existing.containsKey(product.getSku())) {
+                continue;
+            }
+            created++;
+            if (product.getStockQuantity() > 0) {
+                initialStock.add(initialStockAdjustment(product, now));
+            }
+        }
+        stockAdjustmentWriter.write(initialStock);
+        productRepository.syncLowStockItems(products.stream().map(Product::getId).toList(), now);
+        eventPublisher.publishEvent(new ProductsImportedEvent(tenantId, products));
+        return created;
+    }
+
+    private String validate(CreateProductRequest request) {
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static Product toProduct(CreateProductRequest request) {
+        Product product = new Product();
+        product.setSku(request.getSku());
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setCategory(request.getCategory());
+        product.setPrice(request.getPrice());
+        product.setStockQuantity(request.getStockQuantity());
+        product.setReorderLevel(request.getReorderLevel() != null ? request.getReorderLevel() : 10);
+        return product;
+    }
+
+    private static StockAdjustment initialStockAdjustment(Product product, LocalDateTime now) {
+        StockAdjustment adjustment = new StockAdjustment();
+        adjustment.setProductId(product.getId());
+        adjustment.setProductSku(product.getSku());
+        adjustment.setAdjustmentType("RESTOCK");
+        adjustment.setQuantityChange(product.getStockQuantity());
+        adjustment.setPreviousQuantity(0);
+        adjustment.setNewQuantity(product.getStockQuantity());
+        adjustment.setReason("Initial stock");
+        adjustment.setCreatedAt(now);
+        return adjustment;
+    }
+
+    // Keeps running imports and the most recent finished ones
+    private void register(ProductImportProgress progress) {
+        imports.put(progress.getImportId(), progress);
+        List<ProductImportProgress> finished = imports.values().stream()
+                .filter(existing -> !existing.isRunning())
+                .sorted(Comparator.comparing(existing -> existing.toResult().finishedAt()))
+                .toList();
+        for (int i = 0; i < finished.size() - retainedResults; i++) {
+            imports.remove(finished.get(i).getImportId());
+        }
+    }
+}
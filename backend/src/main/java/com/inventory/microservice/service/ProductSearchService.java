@@ -0,0 +1,182 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.ProductSearchResponse;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.repository.ProductRepository;
+import com.inventory.microservice.search.ProductSearchHits;
+import com.inventory.microservice.search.ProductSearchIndex;
+import com.inventory.microservice.search.ProductSearchQuery;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Product search over a per-tenant in-memory index. A tenant's index is built from the database on its
+ * first search (or on demand) and then kept current from committed {@link ProductChangedEvent}s.
+ * Indexes are local to this instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    @Value("${inventory.search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${inventory.search.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${inventory.search.max-page:500}")
+    private int maxPage;
+
+    private final Map<String, TenantIndexes> tenants = new ConcurrentHashMap<>();
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void start() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ProductSearchResponse search(String text, String category, Boolean inStock,
+                                        BigDecimal priceMin, BigDecimal priceMax, Integer page, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        if (pageNumber > maxPage) {
+            throw new RuntimeException("Page cannot exceed " + maxPage + "; narrow the search instead");
+        }
+
+        ProductSearchQuery query = new ProductSearchQuery(text, blankToNull(category), inStock,
+                priceMin, priceMax, pageNumber, pageSize);
+        ProductSearchHits hits = currentIndex().search(query);
+        return new ProductSearchResponse(hits.products(), hits.total(), pageNumber, pageSize,
+                hits.categoryCounts(), hits.inStockCount(), hits.outOfStockCount());
+    }
+
+    /**
+     * Rebuilds the current tenant's index from the products table and returns the number of indexed products.
+     * Searches keep using the old index until the new one is complete.
+     */
+    public int rebuild() {
+        String tenantId = requireTenant();
+        TenantIndexes indexes = tenants.computeIfAbsent(tenantId, key -> new TenantIndexes());
+        indexes.buildLock.lock();
+        try {
+            return build(tenantId, indexes).size();
+        } finally {
+            indexes.buildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        index(event.tenantId(), List.of(event.product()));
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        index(event.tenantId(), event.products());
+    }
+
+    public void evictTenant(String tenantId) {
+        if (tenants.remove(tenantId) != null) {
+            log.info("Evicted product search index for tenant: {}", tenantId);
+        }
+    }
+
+    private void index(String tenantId, List<Product> products) {
+        TenantIndexes indexes = tenants.get(tenantId);
+        if (indexes == null) {
+            // Not searched yet; the first search builds from the database
+            return;
+        }
+        ProductSearchIndex current = indexes.current;
+        ProductSearchIndex building = indexes.building;
+        for (Product product : products) {
+            if (current != null) {
+                current.put(product);
+            }
+            if (building != null) {
+                building.put(product);
+            }
+        }
+    }
+
+    private ProductSearchIndex currentIndex() {
+        String tenantId = requireTenant();
+        TenantIndexes indexes = tenants.computeIfAbsent(tenantId, key -> new TenantIndexes());
+        ProductSearchIndex current = indexes.current;
+        if (current != null) {
+            return current;
+        }
+        indexes.buildLock.lock();
+        try {
+            return indexes.current != null ? indexes.current : build(tenantId, indexes);
+        } finally {
+            indexes.buildLock.unlock();
+        }
+    }
+
+    // Caller holds the build lock
+    private ProductSearchIndex build(String tenantId, TenantIndexes indexes) {
+        long startedAt = System.currentTimeMillis();
+        ProductSearchIndex fresh = new ProductSearchIndex();
+        // Published before the scan starts so writes committed during the scan reach the new index too;
+        // the version check in put() keeps the scan from overwriting them with older rows
+        indexes.building = fresh;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Product> products = productRepository.streamAll()) {
+                    products.forEach(product -> {
+                        fresh.put(product);
+                        entityManager.detach(product);
+                    });
+                }
+            });
+            indexes.current = fresh;
+        } finally {
+            indexes.building = null;
+        }
+        log.info("Built product search index for tenant: {} ({} products in {} ms)",
+                tenantId, fresh.size(), System.currentTimeMillis() - startedAt);
+        return fresh;
+    }
+
+    private static String requireTenant() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new RuntimeException("Tenant ID is required for product search");
+        }
+        return tenantId;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static final class TenantIndexes {
+
+        // A lock rather than a monitor: the build does database I/O, which would pin a virtual thread
+        private final ReentrantLock buildLock = new ReentrantLock();
+        private volatile ProductSearchIndex current;
+        private volatile ProductSearchIndex building;
+    }
+}
@@ -1,21 +1,42 @@
 package com.inventory.microservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.microservice.config.StockUpdateProperties;
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.BatchStockUpdateItem;
+import com.inventory.microservice.dto.BatchStockUpdateResponse;
 import com.inventory.microservice.dto.CreateProductRequest;
+import com.inventory.microservice.dto.CursorPage;
+import com.inventory.microservice.dto.StockUpdateItemResult;
 import com.inventory.microservice.dto.UpdateStockRequest;
 import com.inventory.microservice.entity.Product;
 import com.inventory.microservice.entity.StockAdjustment;
 import com.inventory.microservice.repository.ProductRepository;
 import com.inventory.microservice.repository.StockAdjustmentRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +45,23 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final StockAdjustmentRepository stockAdjustmentRepository;
+    private final StockAdjustmentWriter stockAdjustmentWriter;
+    private final StockUpdateProperties stockUpdateProperties;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String SALE = "SALE";
+
+    // Earliest value a TIMESTAMP column can hold
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 2, 0, 0);
+
+    @Value("${inventory.pagination.default-limit:100}")
+    private int defaultPageLimit;
+
+    @Value("${inventory.pagination.max-limit:1000}")
+    private int maxPageLimit;
 
     @Transactional
     public Product createProduct(CreateProductRequest request) {
@@ -45,6 +83,7 @@ public class ProductService {
 
         Product savedProduct = productRepository.save(product);
         log.info("Product created: {} (ID: {})", savedProduct.getSku(), savedProduct.getId());
+        publishChange(savedProduct);
 
         // Record initial stock if any
         if (request.getStockQuantity() > 0) {
@@ -55,37 +94,61 @@ public class ProductService {
         return savedProduct;
     }
 
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public CursorPage<Product> getAllProducts(Long after, Integer limit) {
+        int pageLimit = pageLimit(limit);
+        return toPage(productRepository.findByIdGreaterThanOrderByIdAsc(cursor(after), pageOf(pageLimit)),
+                pageLimit, Product::getId);
     }
 
-    public List<Product> getActiveProducts() {
-        return productRepository.findByActiveTrue();
+    public CursorPage<Product> getActiveProducts(Long after, Integer limit) {
+        int pageLimit = pageLimit(limit);
+        return toPage(productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(cursor(after), pageOf(pageLimit)),
+                pageLimit, Product::getId);
     }
 
     public Product getProductById(Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        String tenantId = TenantContext.getCurrentTenant();
+        return productCache.getById(tenantId, id).orElseGet(() -> {
+            Product product = loadProduct(id);
+            productCache.put(tenantId, product);
+            return product;
+        });
     }
 
     public Product getProductBySku(String sku) {
-        return productRepository.findBySku(sku)
-                .orElseThrow(() -> new RuntimeException("Product not found with SKU: " + sku));
+        String tenantId = TenantContext.getCurrentTenant();
+        return productCache.getBySku(tenantId, sku).orElseGet(() -> {
+            Product product = productRepository.findBySku(sku)
+                    .orElseThrow(() -> new RuntimeException("Product not found with SKU: " + sku));
+            productCache.put(tenantId, product);
+            return product;
+        });
     }
 
-    public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category);
+    // Write paths always read the row itself, never a cached snapshot
+    private Product loadProduct(Long id) {
+        return productRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
     }
 
-    public List<Product> getProductsNeedingReorder() {
-        return productRepository.findProductsNeedingReorder();
+    public CursorPage<Product> getProductsByCategory(String category, Long after, Integer limit) {
+        int pageLimit = pageLimit(limit);
+        return toPage(productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(category, cursor(after),
+                pageOf(pageLimit)), pageLimit, Product::getId);
+    }
+
+    public CursorPage<Product> getProductsNeedingReorder(Long after, Integer limit) {
+        int pageLimit = pageLimit(limit);
+        return toPage(productRepository.findProductsNeedingReorderAfter(cursor(after), pageOf(pageLimit)),
+                pageLimit, Product::getId);
     }
 
     @Transactional
     public Product updateProduct(Long id, CreateProductRequest request) {
         log.info("Updating product: {}", id);
 
-        Product product = getProductById(id);
+        Product product = loadProduct(id);
+        int previousReorderLevel = product.getReorderLevel();
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setCategory(request.getCategory());
@@ -94,26 +157,28 @@ public class ProductService {
 
         Product updatedProduct = productRepository.save(product);
         log.info("Product updated: {}", updatedProduct.getId());
+        publishChange(updatedProduct, updatedProduct.getStockQuantity(), previousReorderLevel);
 
         return updatedProduct;
     }
 
+    // One attempt; version conflicts are queued and retried by StockUpdateRetrier, outside this transaction
     @Transactional
-    @Retryable(
-            retryFor = {OptimisticLockException.class, ObjectOptimisticLockingFailureException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 100)
-    )
     public Product updateStock(Long id, UpdateStockRequest request) {
         log.info("Updating stock for product: {} by {} ({})",
                 id, request.getQuantityChange(), request.getAdjustmentType());
 
-        Product product = getProductById(id);
+        if (stockUpdateProperties.modeFor(TenantContext.getCurrentTenant(), id) == StockUpdateMode.ATOMIC) {
+            return applyStockDeltaAtomically(id, request);
+        }
+
+        Product product = loadProduct(id);
         int previousQuantity = product.getStockQuantity();
         int newQuantity = previousQuantity + request.getQuantityChange();
+        int floor = stockFloor(product, request.getQuantityChange(), request.getAdjustmentType());
 
-        if (newQuantity < 0) {
-            throw new RuntimeException("Insufficient stock. Available: " + previousQuantity +
+        if (newQuantity < floor) {
+            throw new RuntimeException("Insufficient stock. Available: " + Math.max(0, previousQuantity - floor) +
                     ", Requested: " + Math.abs(request.getQuantityChange()));
         }
 
@@ -121,6 +186,7 @@ public class ProductService {
 
         try {
             Product updatedProduct = productRepository.save(product);
+            publishChange(updatedProduct, previousQuantity, updatedProduct.getReorderLevel());
 
             // Record stock adjustment
             recordStockAdjustment(updatedProduct, previousQuantity, newQuantity,
@@ -131,22 +197,239 @@ public class ProductService {
 
             return updatedProduct;
         } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
-            log.warn("Optimistic lock failure for product: {}. Retrying...", id);
-            throw e; // Will be retried by @Retryable
+            log.warn("Optimistic lock failure for product: {}", id);
+            throw e; // Retried by StockUpdateRetrier
+        }
+    }
+
+    private Product applyStockDeltaAtomically(Long id, UpdateStockRequest request) {
+        int quantityChange = request.getQuantityChange();
+        boolean sale = quantityChange < 0 && isSale(request.getAdjustmentType());
+
+        int updated = sale
+                ? productRepository.applySaleDelta(id, quantityChange, LocalDateTime.now())
+                : productRepository.applyStockDelta(id, quantityChange, LocalDateTime.now());
+        if (updated == 0) {
+            Product product = loadProduct(id);
+            int floor = stockFloor(product, quantityChange, request.getAdjustmentType());
+            throw new RuntimeException("Insufficient stock. Available: " +
+                    Math.max(0, product.getStockQuantity() - floor) + ", Requested: " + Math.abs(quantityChange));
+        }
+
+        // The updated row stays locked until commit, so this read sees exactly the result of our update
+        Product updatedProduct = loadProduct(id);
+        int newQuantity = updatedProduct.getStockQuantity();
+        int previousQuantity = newQuantity - quantityChange;
+        publishChange(updatedProduct, previousQuantity, updatedProduct.getReorderLevel());
+
+        recordStockAdjustment(updatedProduct, previousQuantity, newQuantity,
+                quantityChange, request.getAdjustmentType(), request.getReason());
+
+        log.info("Stock updated atomically. Product: {}, Previous: {}, New: {}",
+                updatedProduct.getSku(), previousQuantity, newQuantity);
+
+        return updatedProduct;
+    }
+
+    /**
+     * Sells units held by a reservation: stock and reserved quantity drop in one statement and a SALE is
+     * recorded. Runs in the caller's transaction, which also settles the hold.
+     */
+    @Transactional
+    public Product consumeReservation(Long id, int quantity, String reason) {
+        if (productRepository.consumeReservedStock(id, quantity, LocalDateTime.now()) == 0) {
+            Product product = loadProduct(id);
+            throw new RuntimeException("Insufficient stock. Available: " + product.getStockQuantity() +
+                    ", Requested: " + quantity);
+        }
+
+        Product updatedProduct = loadProduct(id);
+        int newQuantity = updatedProduct.getStockQuantity();
+        publishChange(updatedProduct, newQuantity + quantity, updatedProduct.getReorderLevel());
+        recordStockAdjustment(updatedProduct, newQuantity + quantity, newQuantity, -quantity, SALE, reason);
+
+        log.info("Reserved stock sold. Product: {}, Quantity: {}, New: {}",
+                updatedProduct.getSku(), quantity, newQuantity);
+        return updatedProduct;
+    }
+
+    // Lowest stock a change may leave: sales must leave the units held by reservations, while other
+    // adjustments (damage, counts) record physical changes and may dip into them
+    private static int stockFloor(Product product, int quantityChange, String adjustmentType) {
+        return quantityChange < 0 && isSale(adjustmentType) ? product.getReservedQuantity() : 0;
+    }
+
+    private static boolean isSale(String adjustmentType) {
+        return SALE.equalsIgnoreCase(adjustmentType);
+    }
+
+    /**
+     * Applies many stock changes in one transaction. Rows are locked up front, items are applied in
+     * order (so several items may target the same product) and each item gets its own result code;
+     * a failed item does not roll back the others.
+     */
+    @Transactional
+    public BatchStockUpdateResponse updateStockBatch(List<BatchStockUpdateItem> items) {
+        log.info("Applying batch of {} stock updates", items.size());
+
+        List<StockUpdateItemResult> results = applyStockBatch(items);
+
+        int applied = (int) results.stream().filter(StockUpdateItemResult::applied).count();
+        log.info("Batch stock update completed. Applied: {}, Failed: {}", applied, items.size() - applied);
+
+        return new BatchStockUpdateResponse(applied, items.size() - applied, results);
+    }
+
+    /**
+     * Applies a window of queued updates for one product as a single net write, recording one
+     * adjustment per request. Outcomes are returned in request order.
+     */
+    @Transactional
+    public List<StockUpdateOutcome> applyCoalescedStockUpdates(Long id, List<UpdateStockRequest> requests) {
+        List<BatchStockUpdateItem> items = requests.stream()
+                .map(request -> toBatchItem(id, request))
+                .toList();
+
+        List<StockUpdateItemResult> results = applyStockBatch(items);
+        Product product = productRepository.findById(id).orElse(null);
+
+        log.info("Coalesced {} stock updates into one write for product: {}", requests.size(), id);
+
+        return results.stream()
+                .map(result -> switch (result.status()) {
+                    case APPLIED -> StockUpdateOutcome.success(copyWithStock(product, result.newQuantity()));
+                    case NOT_FOUND -> StockUpdateOutcome.failure(
+                            new RuntimeException("Product not found with id: " + id));
+                    case INSUFFICIENT_STOCK -> StockUpdateOutcome.failure(new RuntimeException(result.message()));
+                })
+                .toList();
+    }
+
+    private List<StockUpdateItemResult> applyStockBatch(List<BatchStockUpdateItem> items) {
+        Map<Long, Product> productsById = lockProducts(items);
+        Map<String, Product> productsBySku = productsById.values().stream()
+                .collect(Collectors.toMap(Product::getSku, Function.identity()));
+
+        Map<Long, Integer> stockBefore = productsById.values().stream()
+                .collect(Collectors.toMap(Product::getId, Product::getStockQuantity));
+
+        List<StockUpdateItemResult> results = new ArrayList<>(items.size());
+        List<StockAdjustment> adjustments = new ArrayList<>();
+
+        for (int index = 0; index < items.size(); index++) {
+            BatchStockUpdateItem item = items.get(index);
+            Product product = item.getProductId() != null
+                    ? productsById.get(item.getProductId())
+                    : productsBySku.get(item.getSku());
+
+            if (product == null) {
+                results.add(new StockUpdateItemResult(index, item.getProductId(), item.getSku(),
+                        StockUpdateItemResult.Status.NOT_FOUND, null, null, "Product not found"));
+                continue;
+            }
+
+            int previousQuantity = product.getStockQuantity();
+            int newQuantity = previousQuantity + item.getQuantityChange();
+            int floor = stockFloor(product, item.getQuantityChange(), item.getAdjustmentType());
+
+            if (newQuantity < floor) {
+                results.add(new StockUpdateItemResult(index, product.getId(), product.getSku(),
+                        StockUpdateItemResult.Status.INSUFFICIENT_STOCK, previousQuantity, previousQuantity,
+                        "Insufficient stock. Available: " + Math.max(0, previousQuantity - floor) +
+                                ", Requested: " + Math.abs(item.getQuantityChange())));
+                continue;
+            }
+
+            product.setStockQuantity(newQuantity);
+            adjustments.add(buildStockAdjustment(product, previousQuantity, newQuantity,
+                    item.getQuantityChange(), item.getAdjustmentType(), item.getReason()));
+            results.add(new StockUpdateItemResult(index, product.getId(), product.getSku(),
+                    StockUpdateItemResult.Status.APPLIED, previousQuantity, newQuantity, null));
+        }
+
+        // Dirty products go out as one Hibernate JDBC batch, adjustments as one JdbcTemplate batch
+        productRepository.flush();
+        stockAdjustmentWriter.write(adjustments);
+        adjustments.stream()
+                .map(StockAdjustment::getProductId)
+                .distinct()
+                .forEach(productId -> {
+                    Product product = productsById.get(productId);
+                    publishChange(product, stockBefore.get(productId), product.getReorderLevel());
+                });
+
+        return results;
+    }
+
+    private Map<Long, Product> lockProducts(List<BatchStockUpdateItem> items) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> skus = new HashSet<>();
+        for (BatchStockUpdateItem item : items) {
+            if (item.getProductId() != null) {
+                ids.add(item.getProductId());
+            } else {
+                skus.add(item.getSku());
+            }
         }
+
+        if (!skus.isEmpty()) {
+            ids.addAll(productRepository.findIdsBySkuIn(skus));
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return productRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private static BatchStockUpdateItem toBatchItem(Long id, UpdateStockRequest request) {
+        BatchStockUpdateItem item = new BatchStockUpdateItem();
+        item.setProductId(id);
+        item.setQuantityChange(request.getQuantityChange());
+        item.setAdjustmentType(request.getAdjustmentType());
+        item.setReason(request.getReason());
+        return item;
+    }
+
+    // Detached view of the product as it was right after one request of a coalesced window
+    private static Product copyWithStock(Product product, int stockQuantity) {
+        return new Product(product.getId(), product.getSku(), product.getName(), product.getDescription(),
+                product.getCategory(), product.getPrice(), stockQuantity, product.getReservedQuantity(),
+                product.getReorderLevel(), product.getActive(), product.getVersion(), product.getCreatedAt(),
+                product.getUpdatedAt());
     }
 
     @Transactional
     public void deleteProduct(Long id) {
         log.info("Deleting product: {}", id);
-        Product product = getProductById(id);
+        Product product = loadProduct(id);
         product.setActive(false);
-        productRepository.save(product);
+        Product saved = productRepository.save(product);
+        publishChange(saved, saved.getStockQuantity(), saved.getReorderLevel());
         log.info("Product deactivated: {}", id);
     }
 
+    private void publishChange(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(TenantContext.getCurrentTenant(), product));
+    }
+
+    private void publishChange(Product product, int previousStockQuantity, int previousReorderLevel) {
+        eventPublisher.publishEvent(new ProductChangedEvent(TenantContext.getCurrentTenant(), product,
+                previousStockQuantity, previousReorderLevel));
+    }
+
     private void recordStockAdjustment(Product product, int previousQuantity, int newQuantity,
                                        int quantityChange, String adjustmentType, String reason) {
+        StockAdjustment adjustment = buildStockAdjustment(product, previousQuantity, newQuantity,
+                quantityChange, adjustmentType, reason);
+
+        stockAdjustmentWriter.write(List.of(adjustment));
+        log.debug("Stock adjustment recorded for product: {}", product.getSku());
+    }
+
+    private StockAdjustment buildStockAdjustment(Product product, int previousQuantity, int newQuantity,
+                                                 int quantityChange, String adjustmentType, String reason) {
         StockAdjustment adjustment = new StockAdjustment();
         adjustment.setProductId(product.getId());
         adjustment.setProductSku(product.getSku());
@@ -155,12 +438,80 @@ public class ProductService {
         adjustment.setPreviousQuantity(previousQuantity);
         adjustment.setNewQuantity(newQuantity);
         adjustment.setReason(reason);
+        return adjustment;
+    }
 
-        stockAdjustmentRepository.save(adjustment);
-        log.debug("Stock adjustment recorded for product: {}", product.getSku());
+    public CursorPage<StockAdjustment> getStockHistory(Long productId, Long after, Integer limit,
+                                                      LocalDateTime from, LocalDateTime to) {
+        int pageLimit = pageLimit(limit);
+        if (from == null && to == null) {
+            return toPage(stockAdjustmentRepository.findByProductIdAndIdGreaterThanOrderByIdAsc(productId,
+                    cursor(after), pageOf(pageLimit)), pageLimit, StockAdjustment::getId);
+        }
+        // A range bounds created_at as well, so only the partitions it covers are read
+        return toPage(stockAdjustmentRepository.findHistoryBetween(productId, cursor(after),
+                from != null ? from : HISTORY_START, to != null ? to : LocalDateTime.now().plusDays(1),
+                pageOf(pageLimit)), pageLimit, StockAdjustment::getId);
+    }
+
+    /**
+     * Writes every product as one JSON object per line while rows are read from the database,
+     * so memory use does not grow with the catalog. Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out) {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            return writeNdjson(products, out);
+        }
     }
 
-    public List<StockAdjustment> getStockHistory(Long productId) {
-        return stockAdjustmentRepository.findByProductId(productId);
+    @Transactional(readOnly = true)
+    public long exportStockHistory(Long productId, OutputStream out) {
+        try (Stream<StockAdjustment> history = stockAdjustmentRepository.streamByProductId(productId)) {
+            return writeNdjson(history, out);
+        }
+    }
+
+    private long writeNdjson(Stream<?> rows, OutputStream out) {
+        long written = 0;
+        try {
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object row = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+                // Keep the persistence context from accumulating every streamed row
+                entityManager.detach(row);
+                written++;
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export stream", e);
+        }
+        return written;
+    }
+
+    private int pageLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultPageLimit;
+        }
+        return Math.min(limit, maxPageLimit);
+    }
+
+    private static long cursor(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    // Fetches one extra row to learn whether another page follows
+    private static PageRequest pageOf(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    private static <T> CursorPage<T> toPage(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, idOf.apply(items.get(limit - 1)));
     }
 }
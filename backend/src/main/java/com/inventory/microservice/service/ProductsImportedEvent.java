@@ -0,0 +1,12 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.entity.Product;
+
+import java.util.List;
+
+/**
+ * Published once per committed import chunk instead of a {@link ProductChangedEvent} per row. The
+ * low-stock set is already maintained in bulk by the import, so only in-memory views listen to this.
+ */
+public record ProductsImportedEvent(String tenantId, List<Product> products) {
+}
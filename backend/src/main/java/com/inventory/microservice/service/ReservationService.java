@@ -0,0 +1,297 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.config.TenantRegistry;
+import com.inventory.microservice.dto.AvailableToPromise;
+import com.inventory.microservice.dto.CreateReservationRequest;
+import com.inventory.microservice.dto.ReservationResponse;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.entity.StockHold;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import com.inventory.microservice.repository.ProductRepository;
+import com.inventory.microservice.repository.StockHoldRepository;
+import com.inventory.microservice.reservation.HashedWheelTimer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock holds with a TTL. The quantity held by active holds is kept on the product row and changed by
+ * conditional updates, so a reservation succeeds only if it fits and sales outside the reservation
+ * system cannot take held units. Confirming a hold sells its units; releasing or expiring it just
+ * returns them. Holds are rows in the tenant's {@code stock_holds} table, so any instance can confirm
+ * or release them. The instance that created a hold expires it on time through a hashed wheel timer;
+ * a periodic sweep expires the holds whose instance went away.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationService {
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final String EXPIRED = "EXPIRED";
+
+    private final ProductRepository productRepository;
+    private final StockHoldRepository stockHoldRepository;
+    private final ProductService productService;
+    private final TenantRegistry tenantRegistry;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${inventory.reservations.default-ttl-seconds:900}")
+    private int defaultTtlSeconds;
+
+    @Value("${inventory.reservations.max-ttl-seconds:86400}")
+    private int maxTtlSeconds;
+
+    @Value("${inventory.reservations.max-active-per-tenant:1000000}")
+    private int maxActivePerTenant;
+
+    @Value("${inventory.reservations.timer-tick-ms:100}")
+    private long timerTickMs;
+
+    @Value("${inventory.reservations.timer-wheel-size:4096}")
+    private int timerWheelSize;
+
+    @Value("${inventory.reservations.expiry-threads:2}")
+    private int expiryThreads;
+
+    @Value("${inventory.reservations.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    // Tenant id -> hold id -> expiry timer, for the holds created on this instance
+    private final Map<String, Map<String, HashedWheelTimer.Timeout>> timeouts = new ConcurrentHashMap<>();
+    private HashedWheelTimer timer;
+    private ExecutorService expiryExecutor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void start() {
+        timer = new HashedWheelTimer("reservation-expiry", timerTickMs, TimeUnit.MILLISECONDS, timerWheelSize);
+        expiryExecutor = Executors.newFixedThreadPool(Math.max(1, expiryThreads),
+                new CustomizableThreadFactory("reservation-expiry-"));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.stop();
+        expiryExecutor.shutdownNow();
+    }
+
+    public ReservationResponse reserve(CreateReservationRequest request) {
+        String tenantId = requireTenant();
+        int ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        if (ttlSeconds > maxTtlSeconds) {
+            throw new RuntimeException("Reservation TTL cannot exceed " + maxTtlSeconds + " seconds");
+        }
+
+        if (timeoutsFor(tenantId).size() >= maxActivePerTenant) {
+            throw new RuntimeException("Too many active reservations for tenant: " + tenantId);
+        }
+
+        Long productId = request.getProductId();
+        int quantity = request.getQuantity();
+        // TIMESTAMP columns keep whole seconds
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        StockHold hold = new StockHold(UUID.randomUUID().toString(), productId, quantity,
+                now, now.plusSeconds(ttlSeconds));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (productRepository.reserveStock(productId, quantity, now) == 0) {
+                Product product = productRepository.findById(productId)
+                        .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+                throw new RuntimeException("Insufficient stock to reserve. Available: " +
+                        Math.max(0, product.getStockQuantity() - product.getReservedQuantity()) +
+                        ", Requested: " + quantity);
+            }
+            stockHoldRepository.insert(hold.getHoldId(), productId, quantity,
+                    hold.getCreatedAt(), hold.getExpiresAt());
+        });
+        schedule(tenantId, hold.getHoldId(), Duration.ofSeconds(ttlSeconds));
+
+        log.debug("Reserved {} of product {} for tenant {} (hold: {})",
+                quantity, productId, tenantId, hold.getHoldId());
+        return toResponse(hold, ACTIVE);
+    }
+
+    public ReservationResponse getReservation(String holdId) {
+        requireTenant();
+        StockHold hold = findHold(holdId);
+        return toResponse(hold, hold.getExpiresAt().isAfter(LocalDateTime.now()) ? ACTIVE : EXPIRED);
+    }
+
+    /**
+     * Sells the held units. If the sale fails (for example because the units were written off as damaged)
+     * the hold stays active and the error is returned.
+     */
+    public Product confirm(String holdId) {
+        String tenantId = requireTenant();
+        Product product = transactionTemplate.execute(status -> {
+            StockHold hold = findHold(holdId);
+            if (stockHoldRepository.deleteIfUnexpired(holdId, LocalDateTime.now()) == 0) {
+                throw new RuntimeException("Reservation is no longer active: " + holdId);
+            }
+            Product sold = productService.consumeReservation(hold.getProductId(), hold.getQuantity(),
+                    "Reservation " + holdId);
+            log.info("Confirmed reservation {} for {} of product {}", holdId, hold.getQuantity(), hold.getProductId());
+            return sold;
+        });
+        cancelTimeout(tenantId, holdId);
+        return product;
+    }
+
+    public ReservationResponse release(String holdId) {
+        String tenantId = requireTenant();
+        StockHold released = transactionTemplate.execute(status -> {
+            StockHold hold = findHold(holdId);
+            if (stockHoldRepository.deleteHold(holdId) == 0) {
+                throw new RuntimeException("Reservation is no longer active: " + holdId);
+            }
+            productRepository.releaseReservedStock(hold.getProductId(), hold.getQuantity(), LocalDateTime.now());
+            return hold;
+        });
+        cancelTimeout(tenantId, holdId);
+        log.debug("Released reservation {}", holdId);
+        return toResponse(released, "RELEASED");
+    }
+
+    public AvailableToPromise getAvailableToPromise(Long productId) {
+        // Read from the database, not the product cache, whose entries can be minutes old
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+        int stock = product.getStockQuantity();
+        int reserved = product.getReservedQuantity();
+        return new AvailableToPromise(productId, stock, reserved, Math.max(0, stock - reserved));
+    }
+
+    /**
+     * Expires holds that no timer will: those created on an instance that has since stopped. Finds them
+     * over one master connection with schema-qualified queries, so idle tenants' pools stay cold.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservations.sweep-interval-ms:60000}")
+    public void expireOrphanedHolds() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Tenant tenant : tenantRegistry.getActiveTenants()) {
+            String tenantId = tenant.getTenantId();
+            if (!tenantSchemaMigrator.isReady(tenantId)) {
+                continue;
+            }
+            try {
+                List<String> due = jdbcTemplate.queryForList("SELECT hold_id FROM `" + tenant.getSchemaName() +
+                        "`.`stock_holds` WHERE expires_at <= ? LIMIT 1", String.class, now);
+                if (!due.isEmpty()) {
+                    TenantContext.runInTenant(tenantId, () -> expireDue(tenantId));
+                }
+            } catch (RuntimeException e) {
+                log.error("Reservation expiry sweep failed for tenant: {}", tenantId, e);
+            }
+        }
+    }
+
+    private void expireDue(String tenantId) {
+        int swept = 0;
+        List<String> holdIds;
+        do {
+            holdIds = stockHoldRepository.findExpiredIds(LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+            holdIds.forEach(this::expire);
+            swept += holdIds.size();
+        } while (holdIds.size() == sweepBatchSize);
+        log.info("Tenant {} - swept {} expired reservations", tenantId, swept);
+    }
+
+    private void schedule(String tenantId, String holdId, Duration delay) {
+        HashedWheelTimer.Timeout timeout = timer.schedule(
+                () -> expiryExecutor.execute(() -> expireOnTime(tenantId, holdId)),
+                delay.toMillis(), TimeUnit.MILLISECONDS);
+        timeoutsFor(tenantId).put(holdId, timeout);
+    }
+
+    private void expireOnTime(String tenantId, String holdId) {
+        timeoutsFor(tenantId).remove(holdId);
+        try {
+            TenantContext.runInTenant(tenantId, () -> {
+                LocalDateTime expiresAt = expire(holdId);
+                if (expiresAt != null) {
+                    // The wheel may fire up to a tick early
+                    Duration remaining = Duration.between(LocalDateTime.now(), expiresAt);
+                    schedule(tenantId, holdId, remaining.plusMillis(timerTickMs));
+                }
+            });
+        } catch (RuntimeException e) {
+            // The sweep picks it up
+            log.error("Failed to expire reservation {} of tenant {}", holdId, tenantId, e);
+        }
+    }
+
+    // Returns the hold's expiry if it is not due yet, otherwise null once it is settled (by us or anyone)
+    private LocalDateTime expire(String holdId) {
+        return transactionTemplate.execute(status -> {
+            StockHold hold = stockHoldRepository.findById(holdId).orElse(null);
+            if (hold == null) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (hold.getExpiresAt().isAfter(now)) {
+                return hold.getExpiresAt();
+            }
+            if (stockHoldRepository.deleteIfExpired(holdId, now) > 0) {
+                productRepository.releaseReservedStock(hold.getProductId(), hold.getQuantity(), now);
+                log.debug("Reservation {} expired", holdId);
+            }
+            return null;
+        });
+    }
+
+    private void cancelTimeout(String tenantId, String holdId) {
+        HashedWheelTimer.Timeout timeout = timeoutsFor(tenantId).remove(holdId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private StockHold findHold(String holdId) {
+        return stockHoldRepository.findById(holdId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found or no longer active: " + holdId));
+    }
+
+    private Map<String, HashedWheelTimer.Timeout> timeoutsFor(String tenantId) {
+        return timeouts.computeIfAbsent(tenantId, key -> new ConcurrentHashMap<>());
+    }
+
+    private static String requireTenant() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new RuntimeException("Tenant ID is required for reservations");
+        }
+        return tenantId;
+    }
+
+    private static ReservationResponse toResponse(StockHold hold, String status) {
+        return new ReservationResponse(hold.getHoldId(), hold.getProductId(), hold.getQuantity(),
+                status, hold.getCreatedAt(), hold.getExpiresAt());
+    }
+}
@@ -0,0 +1,81 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.entity.StockAdjustment;
+import com.inventory.microservice.journal.JournalEntry;
+import com.inventory.microservice.journal.StockAdjustmentJournal;
+import com.inventory.microservice.outbox.StockEventsWrittenEvent;
+import com.inventory.microservice.repository.StockAdjustmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single write path for stock adjustments. In SYNC audit mode they are inserted in the stock update's
+ * transaction; in JOURNAL mode they are appended to the local journal just before that transaction
+ * commits, marked committed once it has, and inserted later by its flusher. The transaction also records
+ * their journal ids in {@code journal_commits}, which settles them on replay if the process dies before
+ * the journal's COMMIT record is written.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockAdjustmentWriter {
+
+    private final StockAdjustmentRepository stockAdjustmentRepository;
+    private final Optional<StockAdjustmentJournal> journal;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void write(List<StockAdjustment> adjustments) {
+        if (adjustments.isEmpty()) {
+            return;
+        }
+        if (journal.isEmpty()) {
+            stockAdjustmentRepository.insertAll(adjustments);
+            eventPublisher.publishEvent(new StockEventsWrittenEvent(TenantContext.getCurrentTenant()));
+            return;
+        }
+
+        StockAdjustmentJournal stockJournal = journal.get();
+        String tenantId = TenantContext.getCurrentTenant();
+        LocalDateTime now = LocalDateTime.now();
+        adjustments.stream()
+                .filter(adjustment -> adjustment.getCreatedAt() == null)
+                .forEach(adjustment -> adjustment.setCreatedAt(now));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockJournal.commit(stockJournal.append(tenantId, adjustments));
+            return;
+        }
+
+        // Appending in beforeCommit keeps a failed append (journal full, disk error) able to roll back the update
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private List<JournalEntry> entries;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                entries = stockJournal.append(tenantId, adjustments);
+                stockAdjustmentRepository.recordJournalCommits(
+                        adjustments.stream().map(StockAdjustment::getJournalId).toList());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (entries == null) {
+                    return;
+                }
+                if (status == STATUS_COMMITTED) {
+                    stockJournal.commit(entries);
+                } else {
+                    stockJournal.cancel(entries);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.config.TenantRegistry;
+import com.inventory.microservice.dto.StockAsOf;
+import com.inventory.microservice.journal.StockAdjustmentJournal;
+import com.inventory.microservice.migration.StockAdjustmentPartitionManager;
+import com.inventory.microservice.repository.ProductRepository;
+import com.inventory.microservice.repository.ProductStockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAsOfService {
+
+    private final ProductRepository productRepository;
+    private final ProductStockSnapshotRepository productStockSnapshotRepository;
+    private final Optional<StockAdjustmentJournal> journal;
+    private final TenantRegistry tenantRegistry;
+    private final StockAdjustmentPartitionManager stockAdjustmentPartitionManager;
+
+    @Value("${inventory.stock-snapshots.chunk-size:5000}")
+    private int chunkSize;
+
+    // Updates can commit a little after their created_at; snapshots stay this far behind now
+    @Value("${inventory.stock-snapshots.settle-minutes:10}")
+    private long settleMinutes;
+
+    public StockAsOf getStockAsOf(Long productId, LocalDateTime asOf) {
+        requireRetained(asOf);
+        return productStockSnapshotRepository.findStockAsOf(productId, asOf).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+    }
+
+    public List<StockAsOf> getCategoryStockAsOf(String category, LocalDateTime asOf) {
+        requireRetained(asOf);
+        return productStockSnapshotRepository.findCategoryStockAsOf(category, asOf);
+    }
+
+    // Answers before the retained history would replay from a base missing the dropped adjustments
+    private void requireRetained(LocalDateTime asOf) {
+        tenantRegistry.find(TenantContext.getCurrentTenant())
+                .flatMap(registered -> stockAdjustmentPartitionManager.findRetainedSince(registered.tenant().getSchemaName()))
+                .filter(asOf::isBefore)
+                .ifPresent(retainedSince -> {
+                    throw new RuntimeException("Stock history before " + retainedSince +
+                            " is no longer retained; choose a later time");
+                });
+    }
+
+    /**
+     * Snapshots every product of the current tenant that changed since its last snapshot. Runs in
+     * id-range chunks, each its own statement, so no single transaction spans the whole catalog.
+     * Stays before the oldest adjustment still waiting in the journal, however old it is, because a
+     * snapshot taken past it would never include it.
+     */
+    public int captureSnapshots() {
+        LocalDateTime snapshotAt = LocalDateTime.now().withNano(0).minusMinutes(settleMinutes);
+        Optional<LocalDateTime> oldestPending = journal.flatMap(
+                stockJournal -> stockJournal.findOldestPendingCreatedAt(TenantContext.getCurrentTenant()));
+        if (oldestPending.isPresent()) {
+            // A second earlier, since created_at may be rounded up when stored
+            LocalDateTime beforePending = oldestPending.get().truncatedTo(ChronoUnit.SECONDS).minusSeconds(1);
+            if (beforePending.isBefore(snapshotAt)) {
+                log.info("Holding stock snapshots at {} until journaled adjustments are inserted", beforePending);
+                snapshotAt = beforePending;
+            }
+        }
+        long maxId = productRepository.findMaxId();
+
+        int captured = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            captured += productStockSnapshotRepository.captureSnapshots(snapshotAt, fromId, fromId + chunkSize - 1);
+        }
+        log.info("Captured {} product stock snapshots as of {}", captured, snapshotAt);
+        return captured;
+    }
+}
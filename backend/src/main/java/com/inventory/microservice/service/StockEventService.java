@@ -0,0 +1,126 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.entity.StockEvent;
+import com.inventory.microservice.outbox.StockEventSink;
+import com.inventory.microservice.repository.StockEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Relays the current tenant's outbox to the {@link StockEventSink} and serves the published stream
+ * to consumers by sequence number, holding long-poll requests open until new events are published.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockEventService {
+
+    private final StockEventRepository stockEventRepository;
+    private final StockEventSink stockEventSink;
+
+    @Value("${inventory.stock-events.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${inventory.stock-events.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${inventory.stock-events.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    private final Map<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Publishes up to {@code batchSize} unpublished events in id order and stamps them with the
+     * next sequence numbers. Returns the number of events published.
+     */
+    @Transactional
+    public int relayPending(String tenantId, int batchSize) {
+        List<StockEvent> events = stockEventRepository.findUnpublishedForUpdate(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        long sequenceNumber = stockEventRepository.findMaxSequenceNumber().orElse(0L);
+        LocalDateTime now = LocalDateTime.now();
+        for (StockEvent event : events) {
+            event.setSequenceNumber(++sequenceNumber);
+            event.setPublishedAt(now);
+        }
+
+        stockEventSink.publish(tenantId, events);
+        log.debug("Relayed {} stock events for tenant: {} up to sequence {}", events.size(), tenantId, sequenceNumber);
+        return events.size();
+    }
+
+    // The highest-sequence row is always kept: the relay continues numbering from it, so purging it
+    // would restart the sequence at 1 and consumers tailing with a later cursor would never see new events
+    @Transactional
+    public int purgePublishedBefore(LocalDateTime publishedBefore) {
+        return stockEventRepository.findMaxSequenceNumber()
+                .map(maxSequenceNumber -> stockEventRepository.deletePublishedBefore(publishedBefore, maxSequenceNumber))
+                .orElse(0);
+    }
+
+    public List<StockEvent> getEvents(Long after, Integer limit) {
+        return stockEventRepository.findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(
+                after != null ? after : 0L, PageRequest.of(0, limit(limit)));
+    }
+
+    /**
+     * Returns events after the cursor, waiting up to {@code waitMs} for new ones when there are none yet.
+     * The waiter is registered before the first read so a publish in between is not missed.
+     */
+    public DeferredResult<List<StockEvent>> awaitEvents(String tenantId, Long after, Integer limit, long waitMs) {
+        long timeout = Math.max(0, Math.min(waitMs, maxWaitMs));
+        DeferredResult<List<StockEvent>> result = new DeferredResult<>(timeout > 0 ? timeout : null, List::of);
+        Waiter waiter = new Waiter(after, limit, result);
+
+        Set<Waiter> tenantWaiters = waiters.computeIfAbsent(tenantId, key -> ConcurrentHashMap.newKeySet());
+        tenantWaiters.add(waiter);
+        result.onCompletion(() -> tenantWaiters.remove(waiter));
+
+        List<StockEvent> events = getEvents(after, limit);
+        if (!events.isEmpty() || timeout == 0) {
+            result.setResult(events);
+        }
+        return result;
+    }
+
+    // Called by the relay after a commit, with the tenant bound to the current thread
+    public void notifyWaiters(String tenantId) {
+        Set<Waiter> tenantWaiters = waiters.get(tenantId);
+        if (tenantWaiters == null) {
+            return;
+        }
+        for (Waiter waiter : tenantWaiters) {
+            if (waiter.result().isSetOrExpired()) {
+                continue;
+            }
+            List<StockEvent> events = getEvents(waiter.after(), waiter.limit());
+            if (!events.isEmpty()) {
+                waiter.result().setResult(events);
+            }
+        }
+    }
+
+    private int limit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    private record Waiter(Long after, Integer limit, DeferredResult<List<StockEvent>> result) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.dto.DailyStockMovement;
+import com.inventory.microservice.dto.StockMovementSummary;
+import com.inventory.microservice.repository.StockMovementDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock movement reports served from the {@code stock_movement_daily} rollup. A year of history is
+ * at most a few hundred rows per product and adjustment type, so coarser periods are folded in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockSummaryService {
+
+    private final StockMovementDailyRepository stockMovementDailyRepository;
+
+    @Value("${inventory.stock-summary.default-days:30}")
+    private int defaultDays;
+
+    @Value("${inventory.stock-summary.max-days:3660}")
+    private int maxDays;
+
+    public List<StockMovementSummary> getProductSummary(Long productId, LocalDate from, LocalDate to,
+                                                        SummaryGranularity granularity) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(defaultDays - 1L);
+        validateRange(start, end);
+        return fold(stockMovementDailyRepository.findDailyByProduct(productId, start, end), granularity);
+    }
+
+    public List<StockMovementSummary> getTenantSummary(LocalDate from, LocalDate to, SummaryGranularity granularity) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(defaultDays - 1L);
+        validateRange(start, end);
+        return fold(stockMovementDailyRepository.findDailyTotals(start, end), granularity);
+    }
+
+    /**
+     * Recomputes the rollup for the given days from {@code stock_adjustments}. Days whose raw rows were
+     * already dropped by retention come back empty, so only rebuild ranges that are still retained.
+     */
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        int deleted = stockMovementDailyRepository.deleteBetween(from, to);
+        int inserted = stockMovementDailyRepository.rebuildBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        log.info("Rebuilt stock movement rollup from {} to {} ({} rows replaced by {})", from, to, deleted, inserted);
+        return inserted;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new RuntimeException("Both from and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("from date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new RuntimeException("Date range cannot exceed " + maxDays + " days");
+        }
+    }
+
+    // Rows arrive ordered by day, so periods come out in order
+    private static List<StockMovementSummary> fold(List<DailyStockMovement> days, SummaryGranularity granularity) {
+        SummaryGranularity period = granularity != null ? granularity : SummaryGranularity.DAY;
+        Map<PeriodKey, long[]> totals = new LinkedHashMap<>();
+        for (DailyStockMovement day : days) {
+            long[] total = totals.computeIfAbsent(
+                    new PeriodKey(period.periodStart(day.getMovementDate()), day.getAdjustmentType()),
+                    key -> new long[2]);
+            total[0] += day.getTotalQuantity();
+            total[1] += day.getAdjustmentCount();
+        }
+
+        List<StockMovementSummary> summaries = new ArrayList<>(totals.size());
+        totals.forEach((key, total) ->
+                summaries.add(new StockMovementSummary(key.periodStart(), key.adjustmentType(), total[0], total[1])));
+        return summaries;
+    }
+
+    private record PeriodKey(LocalDate periodStart, String adjustmentType) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.UpdateStockRequest;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.exception.StockUpdateContentionException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stock updates for products in COALESCED mode. Concurrent updates are queued per (tenant, product)
+ * for a short window and written as one net update; each caller waits for its own outcome.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockUpdateCoalescer {
+
+    private final ProductService productService;
+
+    @Value("${inventory.stock.coalescing.window-ms:5}")
+    private long windowMs;
+
+    @Value("${inventory.stock.coalescing.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${inventory.stock.coalescing.flush-threads:4}")
+    private int flushThreads;
+
+    @Value("${inventory.stock.coalescing.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final Map<ProductKey, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newScheduledThreadPool(flushThreads, new CustomizableThreadFactory("stock-coalescer-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+    }
+
+    public Product updateStock(String tenantId, Long id, UpdateStockRequest request) {
+        log.debug("Queueing coalesced stock update for product: {} by {}", id, request.getQuantityChange());
+        CompletableFuture<Product> result = submit(new ProductKey(tenantId, id), request);
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Stock update failed for product: " + id, e.getCause());
+        } catch (TimeoutException e) {
+            throw new StockUpdateContentionException("Timed out waiting for stock update of product: " + id +
+                    ". The update may still be applied; check the stock history before retrying",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for stock update of product: " + id, e);
+        }
+    }
+
+    private CompletableFuture<Product> submit(ProductKey key, UpdateStockRequest request) {
+        PendingUpdate update = new PendingUpdate(request, new CompletableFuture<>());
+
+        while (true) {
+            PendingBatch batch = pendingBatches.computeIfAbsent(key, k -> {
+                PendingBatch created = new PendingBatch();
+                flusher.schedule(() -> flushOnWindow(k, created), windowMs, TimeUnit.MILLISECONDS);
+                return created;
+            });
+
+            synchronized (batch) {
+                if (batch.closed) {
+                    // Flushed between lookup and lock; open a fresh window
+                    continue;
+                }
+                batch.updates.add(update);
+                if (batch.updates.size() >= maxBatchSize) {
+                    batch.closed = true;
+                    pendingBatches.remove(key, batch);
+                    flusher.execute(() -> flush(key, batch.updates));
+                }
+            }
+            return update.result();
+        }
+    }
+
+    private void flushOnWindow(ProductKey key, PendingBatch batch) {
+        synchronized (batch) {
+            if (batch.closed) {
+                return;
+            }
+            batch.closed = true;
+            pendingBatches.remove(key, batch);
+        }
+        flush(key, batch.updates);
+    }
+
+    private void flush(ProductKey key, List<PendingUpdate> updates) {
+        List<UpdateStockRequest> requests = updates.stream().map(PendingUpdate::request).toList();
+
+        try {
+            TenantContext.runInTenant(key.tenantId(), () -> {
+                List<StockUpdateOutcome> outcomes = productService.applyCoalescedStockUpdates(key.productId(), requests);
+                for (int i = 0; i < updates.size(); i++) {
+                    StockUpdateOutcome outcome = outcomes.get(i);
+                    if (outcome.failure() != null) {
+                        updates.get(i).result().completeExceptionally(outcome.failure());
+                    } else {
+                        updates.get(i).result().complete(outcome.product());
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Coalesced stock write failed for tenant: {}, product: {}", key.tenantId(), key.productId(), e);
+            updates.forEach(update -> update.result().completeExceptionally(e));
+        }
+    }
+
+    private record ProductKey(String tenantId, Long productId) {
+    }
+
+    private record PendingUpdate(UpdateStockRequest request, CompletableFuture<Product> result) {
+    }
+
+    private static final class PendingBatch {
+
+        private final List<PendingUpdate> updates = new ArrayList<>();
+        private boolean closed;
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.config.StockUpdateProperties;
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.UpdateStockRequest;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.metrics.TenantMetricTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Entry point for single stock updates; applies each one in its product's {@link StockUpdateMode}.
+ * COALESCED updates go to {@link StockUpdateCoalescer}, OPTIMISTIC updates are retried by
+ * {@link StockUpdateRetrier} and ATOMIC updates go straight to {@link ProductService#updateStock}.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockUpdateDispatcher {
+
+    private final ProductService productService;
+    private final StockUpdateCoalescer stockUpdateCoalescer;
+    private final StockUpdateProperties stockUpdateProperties;
+    private final StockUpdateRetrier stockUpdateRetrier;
+    private final MeterRegistry meterRegistry;
+    private final TenantMetricTags tenantMetricTags;
+
+    public Product updateStock(Long id, UpdateStockRequest request) {
+        String tenantId = TenantContext.getCurrentTenant();
+        StockUpdateMode mode = stockUpdateProperties.modeFor(tenantId, id);
+        if (mode == StockUpdateMode.COALESCED && tenantId == null) {
+            // Batches are keyed by tenant; without one the update is retried like an OPTIMISTIC one
+            mode = StockUpdateMode.OPTIMISTIC;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Product product;
+            if (mode == StockUpdateMode.COALESCED) {
+                product = stockUpdateCoalescer.updateStock(tenantId, id, request);
+            } else if (mode == StockUpdateMode.ATOMIC) {
+                product = productService.updateStock(id, request);
+            } else {
+                product = stockUpdateRetrier.execute(tenantId, id, () -> productService.updateStock(id, request));
+            }
+            outcome = "success";
+            return product;
+        } finally {
+            sample.stop(Timer.builder("inventory.stock.update")
+                    .description("Stock update latency as seen by the caller, retries and coalescing included")
+                    .tag(TenantMetricTags.TAG, tenantMetricTags.tagFor(tenantId))
+                    .tag("mode", mode.name().toLowerCase(Locale.ROOT))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.inventory.microservice.service;
+
+/**
+ * How a stock change is applied; {@link StockUpdateDispatcher} picks the path. COALESCED is handled by
+ * {@link StockUpdateCoalescer}, the other modes by {@link ProductService#updateStock}.
+ */
+public enum StockUpdateMode {
+
+    // Read, modify and save under @Version, retrying on conflicts
+    OPTIMISTIC,
+
+    // Single conditional UPDATE that never conflicts; suited to hot products
+    ATOMIC,
+
+    // Concurrent updates are queued for a few milliseconds and written as one net update
+    COALESCED
+}
@@ -0,0 +1,17 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.entity.Product;
+
+/**
+ * Result of one request inside a coalesced stock write: the product as that request left it, or the failure.
+ */
+public record StockUpdateOutcome(Product product, RuntimeException failure) {
+
+    public static StockUpdateOutcome success(Product product) {
+        return new StockUpdateOutcome(product, null);
+    }
+
+    public static StockUpdateOutcome failure(RuntimeException failure) {
+        return new StockUpdateOutcome(null, failure);
+    }
+}
@@ -0,0 +1,246 @@
+package com.inventory.microservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.exception.StockUpdateContentionException;
+import com.inventory.microservice.metrics.BoundedTagValues;
+import com.inventory.microservice.metrics.StockRetryMetricsListener;
+import com.inventory.microservice.metrics.TenantMetricTags;
+import com.inventory.microservice.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs OPTIMISTIC stock updates so that contention costs as little as possible. Writers of the same
+ * (tenant, product) on this instance queue behind each other instead of racing for the same version, so
+ * conflicts only come from other instances and other write paths. Those are retried with jittered
+ * exponential backoff, and each product has a retry budget: once a product burns through it, further
+ * conflicts fail straight away with 409 instead of piling more load on the hot row. Conflicts and retries
+ * are counted per SKU by {@link StockRetryMetricsListener}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockUpdateRetrier {
+
+    private static final String KEY_ATTRIBUTE = "stock.product";
+    private static final String GRANTED_ATTRIBUTE = "stock.retry.granted";
+
+    private final ProductCache productCache;
+    private final ProductRepository productRepository;
+    private final StockRetryMetricsListener stockRetryMetricsListener;
+    private final MeterRegistry meterRegistry;
+    private final TenantMetricTags tenantMetricTags;
+
+    @Value("${inventory.stock.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${inventory.stock.retry.initial-backoff-ms:10}")
+    private long initialBackoffMs;
+
+    @Value("${inventory.stock.retry.backoff-multiplier:2.0}")
+    private double backoffMultiplier;
+
+    @Value("${inventory.stock.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    @Value("${inventory.stock.retry.budget-per-second:10}")
+    private int budgetPerSecond;
+
+    @Value("${inventory.stock.retry.queue-timeout-ms:5000}")
+    private long queueTimeoutMs;
+
+    @Value("${inventory.metrics.max-tagged-skus:200}")
+    private int maxTaggedSkus;
+
+    private final Map<ProductKey, KeyQueue> queues = new ConcurrentHashMap<>();
+    private Cache<ProductKey, ProductContention> contention;
+    private BoundedTagValues skuTags;
+    private RetryTemplate retryTemplate;
+
+    @PostConstruct
+    public void start() {
+        contention = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        skuTags = new BoundedTagValues(maxTaggedSkus, TenantMetricTags.OTHER);
+        retryTemplate = RetryTemplate.builder()
+                .customPolicy(new BudgetedRetryPolicy(maxAttempts))
+                .exponentialBackoff(initialBackoffMs, backoffMultiplier, maxBackoffMs, true)
+                .withListener(stockRetryMetricsListener)
+                .build();
+    }
+
+    public Product execute(String tenantId, Long productId, Supplier<Product> update) {
+        ProductKey key = new ProductKey(tenantId, productId);
+        KeyQueue queue = enqueue(key);
+        try {
+            awaitTurn(key, queue);
+            try {
+                return retryTemplate.execute(context -> attempt(key, context, update));
+            } finally {
+                queue.lock.unlock();
+            }
+        } finally {
+            dequeue(key);
+        }
+    }
+
+    private Product attempt(ProductKey key, RetryContext context, Supplier<Product> update) {
+        if (context.getRetryCount() == 0) {
+            context.setAttribute(KEY_ATTRIBUTE, key);
+        }
+        try {
+            return update.get();
+        } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
+            log.debug("Version conflict on product: {} (attempt {})", key.productId(), context.getRetryCount() + 1);
+            // Read by StockRetryMetricsListener, which counts the conflict and the retries
+            context.setAttribute(StockRetryMetricsListener.SKU_ATTRIBUTE, skuTags.tagFor(skuOf(key)));
+            throw e;
+        }
+    }
+
+    private void awaitTurn(ProductKey key, KeyQueue queue) {
+        long start = System.nanoTime();
+        try {
+            if (!queue.lock.tryLock(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new StockUpdateContentionException(
+                        "Timed out waiting behind other stock updates of product: " + key.productId(),
+                        Math.max(1, TimeUnit.MILLISECONDS.toSeconds(queueTimeoutMs)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to update stock of product: " + key.productId(), e);
+        } finally {
+            Timer.builder("inventory.stock.contention.queue.wait")
+                    .description("Time a stock update waited behind other writers of the same product")
+                    .tag(TenantMetricTags.TAG, tenantMetricTags.tagFor(key.tenantId()))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Queues are reference counted so the map only holds products with a writer in flight
+    private KeyQueue enqueue(ProductKey key) {
+        return queues.compute(key, (k, queue) -> {
+            KeyQueue current = queue != null ? queue : new KeyQueue();
+            current.writers++;
+            return current;
+        });
+    }
+
+    private void dequeue(ProductKey key) {
+        queues.computeIfPresent(key, (k, queue) -> --queue.writers == 0 ? null : queue);
+    }
+
+    // Only called on the conflict path; the SKU is remembered with the product's contention state
+    private String skuOf(ProductKey key) {
+        ProductContention state = contentionFor(key);
+        String sku = state.sku;
+        if (sku == null) {
+            sku = productCache.getById(key.tenantId(), key.productId())
+                    .or(() -> productRepository.findById(key.productId()))
+                    .map(Product::getSku)
+                    .orElse(String.valueOf(key.productId()));
+            state.sku = sku;
+        }
+        return sku;
+    }
+
+    private ProductContention contentionFor(ProductKey key) {
+        return contention.get(key, k -> new ProductContention(budgetPerSecond));
+    }
+
+    /**
+     * Retries version conflicts up to {@code maxAttempts}, spending one token of the product's budget
+     * per retry. The template asks twice per failed attempt, so a grant is remembered for that attempt.
+     */
+    private final class BudgetedRetryPolicy extends SimpleRetryPolicy {
+
+        private BudgetedRetryPolicy(int maxAttempts) {
+            super(maxAttempts, Map.of(
+                    OptimisticLockException.class, true,
+                    ObjectOptimisticLockingFailureException.class, true), true);
+        }
+
+        @Override
+        public boolean canRetry(RetryContext context) {
+            if (!super.canRetry(context)) {
+                return false;
+            }
+            if (context.getRetryCount() == 0) {
+                return true;
+            }
+            ProductKey key = (ProductKey) context.getAttribute(KEY_ATTRIBUTE);
+            if (key == null || Integer.valueOf(context.getRetryCount()).equals(context.getAttribute(GRANTED_ATTRIBUTE))) {
+                return true;
+            }
+            if (!contentionFor(key).tryTakeRetry()) {
+                log.warn("Retry budget exhausted for product: {} of tenant: {}", key.productId(), key.tenantId());
+                Counter.builder("inventory.stock.contention.budget.exhausted")
+                        .description("Stock updates failed because the product's retry budget was spent")
+                        .tag(TenantMetricTags.TAG, tenantMetricTags.tagFor(key.tenantId()))
+                        .tag(StockRetryMetricsListener.SKU_TAG, skuTags.tagFor(skuOf(key)))
+                        .register(meterRegistry)
+                        .increment();
+                return false;
+            }
+            context.setAttribute(GRANTED_ATTRIBUTE, context.getRetryCount());
+            return true;
+        }
+    }
+
+    private record ProductKey(String tenantId, Long productId) {
+    }
+
+    private static final class KeyQueue {
+
+        // Fair, so a writer that has waited longest goes next instead of a newly arrived one barging in
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int writers;
+    }
+
+    private static final class ProductContention {
+
+        private final int perSecond;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private volatile String sku;
+
+        private ProductContention(int perSecond) {
+            this.perSecond = Math.max(1, perSecond);
+            this.tokens = this.perSecond;
+        }
+
+        private synchronized boolean tryTakeRetry() {
+            long now = System.nanoTime();
+            tokens = Math.min(perSecond, tokens + (now - refilledAt) * perSecond / 1e9);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
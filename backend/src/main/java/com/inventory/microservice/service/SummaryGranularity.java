@@ -0,0 +1,20 @@
+package com.inventory.microservice.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum SummaryGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    // Weeks start on Monday
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
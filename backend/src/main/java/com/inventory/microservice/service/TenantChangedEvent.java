@@ -0,0 +1,10 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.entity.Tenant;
+
+/**
+ * Published by {@link TenantService} whenever a tenant record is written, so the tenant registry
+ * picks up the change once it is committed instead of waiting for its next periodic refresh.
+ */
+public record TenantChangedEvent(Tenant tenant) {
+}
@@ -1,11 +1,20 @@
 package com.inventory.microservice.service;
 
 import com.inventory.microservice.config.MultiTenantConfig;
+import com.inventory.microservice.config.TenantConnectionPools;
+import com.inventory.microservice.config.TenantRequestLimiter;
 import com.inventory.microservice.dto.CreateTenantRequest;
+import com.inventory.microservice.dto.ProductCacheStats;
+import com.inventory.microservice.dto.TenantMigrationStatus;
+import com.inventory.microservice.dto.TenantPoolStats;
+import com.inventory.microservice.dto.UpdateTenantQuotaRequest;
 import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.migration.StockAdjustmentPartitionManager;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
 import com.inventory.microservice.repository.TenantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +29,13 @@ public class TenantService {
     private final TenantRepository tenantRepository;
     private final JdbcTemplate jdbcTemplate;
     private final MultiTenantConfig multiTenantConfig;
+    private final TenantConnectionPools tenantConnectionPools;
+    private final ProductCache productCache;
+    private final ProductSearchService productSearchService;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
+    private final TenantRequestLimiter tenantRequestLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockAdjustmentPartitionManager stockAdjustmentPartitionManager;
 
     @Transactional
     public Tenant createTenant(CreateTenantRequest request) {
@@ -50,6 +66,7 @@ public class TenantService {
 
         // Add datasource to the multi-tenant configuration
         multiTenantConfig.addTenantDataSource(request.getTenantId(), schemaName);
+        eventPublisher.publishEvent(new TenantChangedEvent(savedTenant));
 
         log.info("Tenant created successfully: {} -> schema: {}", request.getTenantId(), schemaName);
         return savedTenant;
@@ -62,42 +79,11 @@ public class TenantService {
             // Create schema with backticks to handle special characters
             jdbcTemplate.execute("CREATE DATABASE IF NOT EXISTS `" + schemaName + "`");
 
-            // Create products table in tenant schema
-            String createProductsTable = String.format(
-                    "CREATE TABLE IF NOT EXISTS `%s`.`products` (" +
-                            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
-                            "sku VARCHAR(255) NOT NULL UNIQUE, " +
-                            "name VARCHAR(255) NOT NULL, " +
-                            "description VARCHAR(1000), " +
-                            "category VARCHAR(255) NOT NULL, " +
-                            "price DECIMAL(10,2) NOT NULL, " +
-                            "stock_quantity INT NOT NULL DEFAULT 0, " +
-                            "reorder_level INT NOT NULL DEFAULT 10, " +
-                            "active BOOLEAN NOT NULL DEFAULT TRUE, " +
-                            "version BIGINT, " +
-                            "created_at TIMESTAMP NOT NULL, " +
-                            "updated_at TIMESTAMP NOT NULL" +
-                            ")", schemaName);
-
-            jdbcTemplate.execute(createProductsTable);
-
-            // Create stock_adjustments table in tenant schema
-            String createStockAdjustmentsTable = String.format(
-                    "CREATE TABLE IF NOT EXISTS `%s`.`stock_adjustments` (" +
-                            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
-                            "product_id BIGINT NOT NULL, " +
-                            "product_sku VARCHAR(255) NOT NULL, " +
-                            "adjustment_type VARCHAR(50) NOT NULL, " +
-                            "quantity_change INT NOT NULL, " +
-                            "previous_quantity INT NOT NULL, " +
-                            "new_quantity INT NOT NULL, " +
-                            "reason VARCHAR(500), " +
-                            "created_at TIMESTAMP NOT NULL" +
-                            ")", schemaName);
-
-            jdbcTemplate.execute(createStockAdjustmentsTable);
-
-            log.info("Schema created successfully: {}", schemaName);
+            // Tables and indexes come from the versioned tenant schema migrations
+            int version = tenantSchemaMigrator.migrate(schemaName);
+            stockAdjustmentPartitionManager.ensureFuturePartitions(schemaName);
+
+            log.info("Schema created successfully: {} (version {})", schemaName, version);
         } catch (Exception e) {
             log.error("Error creating tenant schema: {}", schemaName, e);
             throw new RuntimeException("Failed to create tenant schema", e);
@@ -113,11 +99,43 @@ public class TenantService {
                 .orElseThrow(() -> new RuntimeException("Tenant not found: " + tenantId));
     }
 
+    public List<TenantPoolStats> getConnectionPoolStats() {
+        return tenantConnectionPools.getStats();
+    }
+
+    public List<ProductCacheStats> getProductCacheStats() {
+        return productCache.getStats();
+    }
+
+    public List<TenantMigrationStatus> getMigrationStatuses() {
+        return tenantSchemaMigrator.getStatuses();
+    }
+
+    public boolean startSchemaMigration(boolean includeMaintenance) {
+        return tenantSchemaMigrator.migrateAllTenantsAsync(includeMaintenance);
+    }
+
+    @Transactional
+    public Tenant updateQuotas(String tenantId, UpdateTenantQuotaRequest request) {
+        Tenant tenant = getTenantById(tenantId);
+        tenant.setReadRequestsPerSecond(request.getReadRequestsPerSecond());
+        tenant.setWriteRequestsPerSecond(request.getWriteRequestsPerSecond());
+        tenant.setMaxConcurrentRequests(request.getMaxConcurrentRequests());
+        Tenant saved = tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(saved));
+        log.info("Updated request quotas for tenant: {}", tenantId);
+        return saved;
+    }
+
     @Transactional
     public void deactivateTenant(String tenantId) {
         Tenant tenant = getTenantById(tenantId);
         tenant.setActive(false);
-        tenantRepository.save(tenant);
+        Tenant saved = tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(saved));
+        productCache.evictTenant(tenantId);
+        productSearchService.evictTenant(tenantId);
+        tenantRequestLimiter.evict(tenantId);
         log.info("Tenant deactivated: {}", tenantId);
     }
 }
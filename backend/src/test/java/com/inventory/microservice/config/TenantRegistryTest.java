@@ -0,0 +1,84 @@
+package com.inventory.microservice.config;
+
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.repository.TenantRepository;
+import com.inventory.microservice.service.TenantChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantRegistryTest {
+
+    private final TenantRepository tenantRepository = mock(TenantRepository.class);
+    private final MultiTenantConfig multiTenantConfig = mock(MultiTenantConfig.class);
+    private final TenantRegistry registry = new TenantRegistry(tenantRepository, multiTenantConfig);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(registry, "missReloadIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(registry, "maxMissReloadsPerSecond", 2);
+        when(tenantRepository.findAll()).thenReturn(List.of());
+        when(multiTenantConfig.findTenant(anyString())).thenReturn(Optional.empty());
+        registry.load();
+    }
+
+    @Test
+    void registersATenantCreatedElsewhereOnFirstMiss() {
+        DataSource dataSource = mock(DataSource.class);
+        when(multiTenantConfig.findTenant("tenant1")).thenReturn(Optional.of(tenant("tenant1")));
+        when(multiTenantConfig.registerTenantDataSource("tenant1", "tenant1_schema")).thenReturn(dataSource);
+
+        assertThat(registry.find("tenant1")).map(TenantRegistry.RegisteredTenant::dataSource).contains(dataSource);
+        assertThat(registry.find("tenant1")).isPresent();
+        assertThat(registry.getActiveTenants()).extracting(Tenant::getTenantId).containsExactly("tenant1");
+        verify(multiTenantConfig, times(1)).findTenant("tenant1");
+    }
+
+    @Test
+    void looksUpAnUnknownIdOnlyOncePerInterval() {
+        assertThat(registry.find("missing")).isEmpty();
+        assertThat(registry.find("missing")).isEmpty();
+
+        verify(multiTenantConfig, times(1)).findTenant("missing");
+    }
+
+    @Test
+    void capsMissLookupsPerSecond() {
+        registry.find("a");
+        registry.find("b");
+        registry.find("c");
+
+        verify(multiTenantConfig, times(0)).findTenant("c");
+    }
+
+    @Test
+    void keepsATenantChangedWhileMasterIsBeingRead() {
+        when(tenantRepository.findAll()).thenAnswer(invocation -> {
+            registry.onTenantChanged(new TenantChangedEvent(tenant("tenant1")));
+            return List.of();
+        });
+
+        registry.refresh();
+
+        assertThat(registry.getActiveTenants()).extracting(Tenant::getTenantId).containsExactly("tenant1");
+    }
+
+    private static Tenant tenant(String tenantId) {
+        Tenant tenant = new Tenant();
+        tenant.setTenantId(tenantId);
+        tenant.setSchemaName(tenantId + "_schema");
+        tenant.setActive(true);
+        return tenant;
+    }
+}
@@ -0,0 +1,149 @@
+package com.inventory.microservice.config;
+
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.metrics.TenantMetricTags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TenantRequestLimiterTest {
+
+    private static final String TENANT = "tenant1";
+
+    private final TenantRegistry tenantRegistry = mock(TenantRegistry.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TenantRequestLimiter limiter =
+            new TenantRequestLimiter(tenantRegistry, meterRegistry, new TenantMetricTags(100));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "defaultReadRequestsPerSecond", 1000);
+        ReflectionTestUtils.setField(limiter, "defaultWriteRequestsPerSecond", 1000);
+        ReflectionTestUtils.setField(limiter, "defaultMaxConcurrentRequests", 1000);
+        ReflectionTestUtils.setField(limiter, "burstSeconds", 1);
+    }
+
+    @Test
+    void admitsAFullBucketAtOnceThenRejectsWithRetryAfter() {
+        register(tenant(null, 5, null));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isTrue();
+        }
+        TenantRequestLimiter.Admission rejected = limiter.tryAcquire(TENANT, true);
+
+        assertThat(rejected.isAdmitted()).isFalse();
+        assertThat(rejected.getReason()).isEqualTo("write-rate");
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(meterRegistry.get("inventory.requests.rejected").tag("reason", "write-rate").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void readsAndWritesHaveSeparateBuckets() {
+        register(tenant(2, 1, null));
+
+        assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isTrue();
+        assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isFalse();
+
+        assertThat(limiter.tryAcquire(TENANT, false).isAdmitted()).isTrue();
+        assertThat(limiter.tryAcquire(TENANT, false).isAdmitted()).isTrue();
+        assertThat(limiter.tryAcquire(TENANT, false).getReason()).isEqualTo("read-rate");
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        // One token every 50 ms
+        register(tenant(20, null, null));
+        while (limiter.tryAcquire(TENANT, false).isAdmitted()) {
+            // Drain the bucket
+        }
+
+        Thread.sleep(120);
+
+        assertThat(limiter.tryAcquire(TENANT, false).isAdmitted()).isTrue();
+        assertThat(limiter.tryAcquire(TENANT, false).isAdmitted()).isTrue();
+    }
+
+    @Test
+    void capsRequestsInFlightUntilReleased() {
+        register(tenant(null, null, 2));
+
+        TenantRequestLimiter.Admission first = limiter.tryAcquire(TENANT, false);
+        TenantRequestLimiter.Admission second = limiter.tryAcquire(TENANT, true);
+        TenantRequestLimiter.Admission third = limiter.tryAcquire(TENANT, false);
+
+        assertThat(first.isAdmitted()).isTrue();
+        assertThat(second.isAdmitted()).isTrue();
+        assertThat(third.getReason()).isEqualTo("concurrency");
+
+        first.release();
+        assertThat(limiter.tryAcquire(TENANT, false).isAdmitted()).isTrue();
+    }
+
+    @Test
+    void concurrencyRejectionsDoNotSpendRateTokens() {
+        register(tenant(null, 2, 1));
+
+        TenantRequestLimiter.Admission running = limiter.tryAcquire(TENANT, true);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(TENANT, true).getReason()).isEqualTo("concurrency");
+        }
+        running.release();
+
+        assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isTrue();
+    }
+
+    @Test
+    void rateRejectionsGiveTheirSlotBack() {
+        register(tenant(null, 1, 1));
+
+        limiter.tryAcquire(TENANT, true).release();
+        assertThat(limiter.tryAcquire(TENANT, true).getReason()).isEqualTo("write-rate");
+
+        assertThat(limiter.tryAcquire(TENANT, false).isAdmitted()).isTrue();
+    }
+
+    @Test
+    void rebuildsLimitsWhenTheRegistryHandsOutANewRecord() {
+        register(tenant(null, 1, null));
+        assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isTrue();
+        assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isFalse();
+
+        register(tenant(null, 3, null));
+
+        assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isTrue();
+        assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isTrue();
+    }
+
+    @Test
+    void admitsEverythingWhenDisabled() {
+        ReflectionTestUtils.setField(limiter, "enabled", false);
+        register(tenant(1, 1, 1));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(TENANT, true).isAdmitted()).isTrue();
+        }
+    }
+
+    private void register(Tenant tenant) {
+        when(tenantRegistry.find(TENANT)).thenReturn(Optional.of(new TenantRegistry.RegisteredTenant(tenant, null)));
+    }
+
+    private static Tenant tenant(Integer readsPerSecond, Integer writesPerSecond, Integer maxConcurrent) {
+        Tenant tenant = new Tenant();
+        tenant.setTenantId(TENANT);
+        tenant.setReadRequestsPerSecond(readsPerSecond);
+        tenant.setWriteRequestsPerSecond(writesPerSecond);
+        tenant.setMaxConcurrentRequests(maxConcurrent);
+        return tenant;
+    }
+}
@@ -0,0 +1,92 @@
+package com.inventory.microservice.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvProductImportReaderTest {
+
+    private static final String HEADER = "sku,name,description,category,price,stock_quantity\n";
+
+    @Test
+    void parsesCommasAndDoubledQuotesInsideQuotedFields() throws IOException {
+        List<ProductImportRow> rows = readAll(HEADER +
+                "SKU-1,\"Bolt, M8\",\"The \"\"strong\"\" one\",Hardware,1.50,10\n");
+
+        assertThat(rows).hasSize(1);
+        ProductImportRow row = rows.get(0);
+        assertThat(row.error()).isNull();
+        assertThat(row.request().getName()).isEqualTo("Bolt, M8");
+        assertThat(row.request().getDescription()).isEqualTo("The \"strong\" one");
+        assertThat(row.request().getPrice()).isEqualByComparingTo(new BigDecimal("1.50"));
+        assertThat(row.request().getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void keepsLineBreaksInQuotedFieldsAndReportsWhereEachRecordStarts() throws IOException {
+        List<ProductImportRow> rows = readAll(HEADER +
+                "SKU-1,Bolt,\"first line\n\nthird, line\",Hardware,1.50,10\n" +
+                "SKU-2,Nut,plain,Hardware,0.20,5\n");
+
+        assertThat(rows).extracting(ProductImportRow::sku).containsExactly("SKU-1", "SKU-2");
+        assertThat(rows.get(0).request().getDescription()).isEqualTo("first line\n\nthird, line");
+        assertThat(rows).extracting(ProductImportRow::line).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void matchesHeaderNamesIgnoringCaseSeparatorsAndByteOrderMark() throws IOException {
+        List<ProductImportRow> rows = readAll("\uFEFFSKU,Name,Category,Price,Stock Quantity,Reorder-Level,extra\n" +
+                "SKU-1,Bolt,Hardware,1.50,10,3,ignored\n");
+
+        assertThat(rows.get(0).request().getStockQuantity()).isEqualTo(10);
+        assertThat(rows.get(0).request().getReorderLevel()).isEqualTo(3);
+    }
+
+    @Test
+    void skipsBlankLinesAndReportsInvalidNumbersPerRow() throws IOException {
+        List<ProductImportRow> rows = readAll(HEADER +
+                "\n" +
+                "SKU-1,Bolt,,Hardware,abc,10\n" +
+                "SKU-2,Nut,,Hardware,0.20,5\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).request()).isNull();
+        assertThat(rows.get(0).sku()).isEqualTo("SKU-1");
+        assertThat(rows.get(0).line()).isEqualTo(3);
+        assertThat(rows.get(0).error()).startsWith("Invalid number");
+        assertThat(rows.get(1).error()).isNull();
+    }
+
+    @Test
+    void failsOnUnterminatedQuotedField() {
+        assertThatThrownBy(() -> readAll(HEADER + "SKU-1,\"Bolt,,Hardware,1.50,10\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unterminated quoted field");
+    }
+
+    @Test
+    void requiresSkuColumn() {
+        assertThatThrownBy(() -> readAll("name,category\nBolt,Hardware\n"))
+                .hasMessageContaining("sku column");
+    }
+
+    private static List<ProductImportRow> readAll(String csv) throws IOException {
+        List<ProductImportRow> rows = new ArrayList<>();
+        try (ProductImportReader reader = ProductImportReader.open(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportFormat.CSV, null)) {
+            ProductImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,186 @@
+package com.inventory.microservice.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.microservice.entity.StockAdjustment;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import com.inventory.microservice.repository.StockAdjustmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockAdjustmentJournalTest {
+
+    private static final String TENANT = "tenant1";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayAfterCrashInsertsOnlyCommittedAdjustments() throws Exception {
+        StockAdjustmentRepository unavailable = mock(StockAdjustmentRepository.class);
+        doThrow(new RuntimeException("database down")).when(unavailable).insertJournaled(anyList());
+        StockAdjustmentJournal crashed = journal(unavailable);
+        crashed.start();
+
+        StockAdjustment committed = adjustment(10);
+        StockAdjustment cancelled = adjustment(-3);
+        StockAdjustment inFlight = adjustment(7);
+        try {
+            crashed.commit(crashed.append(TENANT, List.of(committed)));
+            crashed.cancel(crashed.append(TENANT, List.of(cancelled)));
+            // Appended in beforeCommit, then the process died before the transaction finished
+            crashed.append(TENANT, List.of(inFlight));
+
+            StockAdjustmentRepository repository = mock(StockAdjustmentRepository.class);
+            StockAdjustmentJournal restarted = journal(repository);
+            restarted.start();
+            try {
+                @SuppressWarnings("unchecked")
+                ArgumentCaptor<List<StockAdjustment>> inserted = ArgumentCaptor.forClass(List.class);
+                verify(repository, timeout(5000)).insertJournaled(inserted.capture());
+                verify(repository, after(200)).insertJournaled(anyList());
+
+                assertThat(inserted.getValue())
+                        .extracting(StockAdjustment::getJournalId)
+                        .containsExactly(committed.getJournalId());
+                assertThat(inserted.getValue().get(0).getQuantityChange()).isEqualTo(10);
+            } finally {
+                restarted.stop();
+            }
+        } finally {
+            crashed.stop();
+        }
+    }
+
+    @Test
+    void replaySettlesEntriesWithoutMarkersFromJournalCommits() throws Exception {
+        StockAdjustmentRepository unavailable = mock(StockAdjustmentRepository.class);
+        doThrow(new RuntimeException("database down")).when(unavailable).insertJournaled(anyList());
+        StockAdjustmentJournal crashed = journal(unavailable);
+        crashed.start();
+
+        StockAdjustment databaseCommitted = adjustment(5);
+        StockAdjustment rolledBack = adjustment(-2);
+        try {
+            // Both appended in beforeCommit; the process died before either COMMIT record was written,
+            // after the first transaction had committed and before the second one did
+            crashed.append(TENANT, List.of(databaseCommitted));
+            crashed.append(TENANT, List.of(rolledBack));
+
+            StockAdjustmentRepository repository = mock(StockAdjustmentRepository.class);
+            when(repository.findJournalCommits(anyList())).thenReturn(Set.of(databaseCommitted.getJournalId()));
+            StockAdjustmentJournal restarted = journal(repository);
+            restarted.start();
+            try {
+                @SuppressWarnings("unchecked")
+                ArgumentCaptor<List<StockAdjustment>> inserted = ArgumentCaptor.forClass(List.class);
+                verify(repository, timeout(5000)).insertJournaled(inserted.capture());
+                verify(repository, after(200)).insertJournaled(anyList());
+
+                assertThat(inserted.getValue())
+                        .extracting(StockAdjustment::getJournalId)
+                        .containsExactly(databaseCommitted.getJournalId());
+                assertThat(restarted.findOldestPendingCreatedAt(TENANT)).isEmpty();
+            } finally {
+                restarted.stop();
+            }
+        } finally {
+            crashed.stop();
+        }
+    }
+
+    @Test
+    void pendingEntriesHoldBackOldestCreatedAtUntilInserted() throws Exception {
+        StockAdjustmentRepository unavailable = mock(StockAdjustmentRepository.class);
+        doThrow(new RuntimeException("database down")).when(unavailable).insertJournaled(anyList());
+        StockAdjustmentJournal journal = journal(unavailable);
+        journal.start();
+        try {
+            StockAdjustment older = adjustment(1);
+            older.setCreatedAt(LocalDateTime.of(2026, 1, 1, 10, 0));
+            StockAdjustment newer = adjustment(2);
+            newer.setCreatedAt(LocalDateTime.of(2026, 1, 1, 11, 0));
+            journal.commit(journal.append(TENANT, List.of(newer, older)));
+            journal.cancel(journal.append("tenant2", List.of(adjustment(3))));
+
+            assertThat(journal.findOldestPendingCreatedAt(TENANT)).contains(LocalDateTime.of(2026, 1, 1, 10, 0));
+            assertThat(journal.findOldestPendingCreatedAt("tenant2")).isEmpty();
+        } finally {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void holdsEntriesBackUntilTheTenantSchemaIsMigrated() throws Exception {
+        StockAdjustmentRepository repository = mock(StockAdjustmentRepository.class);
+        TenantSchemaMigrator migrator = mock(TenantSchemaMigrator.class);
+        StockAdjustmentJournal journal = journal(repository, migrator);
+        ReflectionTestUtils.setField(journal, "retryDelayMs", 10L);
+        journal.start();
+        try {
+            journal.commit(journal.append(TENANT, List.of(adjustment(4))));
+
+            verify(repository, after(200).never()).insertJournaled(anyList());
+
+            when(migrator.isReady(TENANT)).thenReturn(true);
+            verify(repository, timeout(5000)).insertJournaled(anyList());
+        } finally {
+            journal.stop();
+        }
+    }
+
+    private StockAdjustmentJournal journal(StockAdjustmentRepository repository) {
+        TenantSchemaMigrator migrator = mock(TenantSchemaMigrator.class);
+        when(migrator.isReady(anyString())).thenReturn(true);
+        return journal(repository, migrator);
+    }
+
+    private StockAdjustmentJournal journal(StockAdjustmentRepository repository, TenantSchemaMigrator migrator) {
+        StockAdjustmentJournal journal = new StockAdjustmentJournal(objectMapper, repository,
+                mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class), migrator);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "syncPolicy", JournalSyncPolicy.ALWAYS);
+        ReflectionTestUtils.setField(journal, "segmentSizeBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(journal, "maxPending", 100);
+        ReflectionTestUtils.setField(journal, "appendTimeoutMs", 100L);
+        ReflectionTestUtils.setField(journal, "batchSize", 100);
+        ReflectionTestUtils.setField(journal, "flushIntervalMs", 10L);
+        // Long enough that a failed flush does not retry during the test
+        ReflectionTestUtils.setField(journal, "retryDelayMs", 60_000L);
+        ReflectionTestUtils.setField(journal, "shutdownTimeoutMs", 100L);
+        return journal;
+    }
+
+    private static StockAdjustment adjustment(int quantityChange) {
+        StockAdjustment adjustment = new StockAdjustment();
+        adjustment.setProductId(1L);
+        adjustment.setProductSku("SKU-1");
+        adjustment.setAdjustmentType("RESTOCK");
+        adjustment.setQuantityChange(quantityChange);
+        adjustment.setPreviousQuantity(0);
+        adjustment.setNewQuantity(quantityChange);
+        adjustment.setCreatedAt(LocalDateTime.now());
+        return adjustment;
+    }
+}
@@ -0,0 +1,71 @@
+package com.inventory.microservice.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StockRetryMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RetryTemplate retryTemplate = RetryTemplate.builder()
+            .maxAttempts(5)
+            .retryOn(OptimisticLockException.class)
+            .noBackoff()
+            .withListener(new StockRetryMetricsListener(meterRegistry, new TenantMetricTags(10)))
+            .build();
+
+    @Test
+    void countsTheRetryOfAnUpdateThatRecoversAfterOneConflict() {
+        failTimes(1);
+
+        assertEquals(1.0, retries("recovered"));
+        assertEquals(1.0, meterRegistry.counter("inventory.stock.contention.conflicts",
+                TenantMetricTags.TAG, TenantMetricTags.NONE, StockRetryMetricsListener.SKU_TAG, "SKU-1").count());
+    }
+
+    @Test
+    void countsEveryRetryOfAnUpdateThatRecovers() {
+        failTimes(3);
+
+        assertEquals(3.0, retries("recovered"));
+    }
+
+    @Test
+    void doesNotCountTheLastAttemptOfAnExhaustedUpdate() {
+        assertThrows(OptimisticLockException.class, () -> failTimes(5));
+
+        assertEquals(4.0, retries("exhausted"));
+        assertEquals(5.0, meterRegistry.counter("inventory.stock.contention.conflicts",
+                TenantMetricTags.TAG, TenantMetricTags.NONE, StockRetryMetricsListener.SKU_TAG, "SKU-1").count());
+    }
+
+    @Test
+    void countsNothingForAnUpdateThatSucceedsFirstTime() {
+        failTimes(0);
+
+        assertNull(meterRegistry.find("inventory.stock.contention.retries").counter());
+    }
+
+    private void failTimes(int failures) {
+        AtomicInteger attempts = new AtomicInteger();
+        retryTemplate.execute(context -> {
+            if (attempts.incrementAndGet() <= failures) {
+                context.setAttribute(StockRetryMetricsListener.SKU_ATTRIBUTE, "SKU-1");
+                throw new OptimisticLockException("conflict");
+            }
+            return attempts.get();
+        });
+    }
+
+    private double retries(String outcome) {
+        return meterRegistry.counter("inventory.stock.contention.retries", TenantMetricTags.TAG, TenantMetricTags.NONE,
+                StockRetryMetricsListener.SKU_TAG, "SKU-1", "outcome", outcome).count();
+    }
+}
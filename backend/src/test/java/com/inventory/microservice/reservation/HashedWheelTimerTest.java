@@ -0,0 +1,93 @@
+package com.inventory.microservice.reservation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedWheelTimerTest {
+
+    private static final long TICK_MS = 10;
+
+    // Small wheel so the delays below wrap around it more than once
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void stopTimer() {
+        timer.stop();
+    }
+
+    @Test
+    void runsTaskOnceItsDelayHasPassed() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicLong elapsedMs = new AtomicLong();
+        long start = System.nanoTime();
+
+        timer.schedule(() -> {
+            elapsedMs.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            ran.countDown();
+        }, 200, TimeUnit.MILLISECONDS);
+
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(elapsedMs.get()).isGreaterThanOrEqualTo(200 - TICK_MS);
+        assertThat(timer.getScheduledCount()).isZero();
+    }
+
+    @Test
+    void runsTimeoutsInDeadlineOrder() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(3);
+        StringBuffer order = new StringBuffer();
+
+        timer.schedule(() -> { order.append('c'); ran.countDown(); }, 150, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { order.append('a'); ran.countDown(); }, 20, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { order.append('b'); ran.countDown(); }, 90, TimeUnit.MILLISECONDS);
+
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).hasToString("abc");
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timer.getScheduledCount()).isZero();
+
+        Thread.sleep(200);
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void cancelAfterExpiryReturnsFalse() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.schedule(ran::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWorker() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        timer.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 10, TimeUnit.MILLISECONDS);
+        timer.schedule(ran::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rejectsWheelSizeThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new HashedWheelTimer("bad-timer", 10, TimeUnit.MILLISECONDS, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
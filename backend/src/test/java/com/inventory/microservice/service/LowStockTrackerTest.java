@@ -0,0 +1,75 @@
+package com.inventory.microservice.service;
+
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.repository.LowStockItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LowStockTrackerTest {
+
+    private static final String TENANT = "tenant1";
+
+    private final LowStockItemRepository repository = mock(LowStockItemRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final LowStockTracker tracker = new LowStockTracker(repository, eventPublisher);
+
+    @Test
+    void writesNothingWhileStockStaysOnOneSideOfTheReorderLevel() {
+        tracker.onProductChanged(new ProductChangedEvent(TENANT, product(50, 10), 60, 10));
+        tracker.onProductChanged(new ProductChangedEvent(TENANT, product(3, 10), 5, 10));
+
+        verifyNoInteractions(repository, eventPublisher);
+    }
+
+    @Test
+    void flagsProductThatFallsToItsReorderLevel() {
+        when(repository.insertIfAbsent(anyLong(), anyString(), anyInt(), anyInt(), any())).thenReturn(1);
+
+        tracker.onProductChanged(new ProductChangedEvent(TENANT, product(10, 10), 11, 10));
+
+        verify(repository).insertIfAbsent(anyLong(), anyString(), anyInt(), anyInt(), any());
+        verify(eventPublisher).publishEvent(any(LowStockEvent.class));
+    }
+
+    @Test
+    void removesProductThatRecovers() {
+        when(repository.deleteByProductId(1L)).thenReturn(1);
+
+        tracker.onProductChanged(new ProductChangedEvent(TENANT, product(25, 10), 4, 10));
+
+        verify(repository).deleteByProductId(1L);
+        verify(eventPublisher).publishEvent(any(LowStockEvent.class));
+    }
+
+    @Test
+    void updatesStoredLevelWhenTheReorderLevelChangesWhileLow() {
+        tracker.onProductChanged(new ProductChangedEvent(TENANT, product(5, 20), 5, 10));
+
+        verify(repository).updateLevels(1L, "SKU-1", 5, 20);
+    }
+
+    @Test
+    void syncsNewProductsWithoutPreviousLevels() {
+        tracker.onProductChanged(new ProductChangedEvent(TENANT, product(50, 10)));
+
+        verify(repository).deleteByProductId(1L);
+    }
+
+    private static Product product(int stockQuantity, int reorderLevel) {
+        Product product = new Product();
+        product.setId(1L);
+        product.setSku("SKU-1");
+        product.setStockQuantity(stockQuantity);
+        product.setReorderLevel(reorderLevel);
+        return product;
+    }
+}
@@ -0,0 +1,41 @@
+#!/bin/bash
+
+# Builds the service and the benchmark jar, then runs the JMH benchmarks and writes one JSON result
+# file per run to results/<commit>/, so runs on different commits can be compared file by file.
+#
+# Usage: ./run-benchmarks.sh [benchmark regex] [extra JMH options]
+#   ./run-benchmarks.sh                                  # everything
+#   ./run-benchmarks.sh ProductJsonBenchmark
+#   ./run-benchmarks.sh StockUpdateBenchmark -p auditMode=SYNC
+#
+# StockUpdateBenchmark is repeated for each writer count in WRITER_THREADS (default "1 4 16 64 256").
+
+set -e
+
+cd "$(dirname "$0")"
+FILTER="${1:-.*}"
+shift || true
+WRITER_THREADS="${WRITER_THREADS:-1 4 16 64 256}"
+
+(cd ../backend && mvn -B -q install -DskipTests)
+mvn -B -q package
+
+COMMIT="$(git rev-parse --short HEAD 2>/dev/null || echo local)"
+OUT="results/$COMMIT"
+mkdir -p "$OUT"
+
+for BENCHMARK in ProductJsonBenchmark TenantRoutingBenchmark ProductLookupBenchmark \
+                 StockReconciliationBenchmark ProductImportBenchmark; do
+    if [[ "$BENCHMARK" =~ $FILTER ]]; then
+        java -jar target/benchmarks.jar "$BENCHMARK" -rf json -rff "$OUT/$BENCHMARK.json" "$@"
+    fi
+done
+
+if [[ "StockUpdateBenchmark" =~ $FILTER ]]; then
+    for THREADS in $WRITER_THREADS; do
+        java -jar target/benchmarks.jar StockUpdateBenchmark -t "$THREADS" \
+            -rf json -rff "$OUT/StockUpdateBenchmark-t$THREADS.json" "$@"
+    done
+fi
+
+echo "Results written to $OUT"
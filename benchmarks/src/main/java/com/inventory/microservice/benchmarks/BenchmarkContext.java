@@ -0,0 +1,138 @@
+package com.inventory.microservice.benchmarks;
+
+import com.inventory.microservice.config.StockUpdateProperties;
+import com.inventory.microservice.config.TenantRegistry;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.entity.Tenant;
+import com.inventory.microservice.journal.StockAdjustmentJournal;
+import com.inventory.microservice.metrics.StockRetryMetricsListener;
+import com.inventory.microservice.metrics.TenantMetricTags;
+import com.inventory.microservice.migration.TenantSchemaMigrator;
+import com.inventory.microservice.repository.ProductRepository;
+import com.inventory.microservice.repository.TenantRepository;
+import com.inventory.microservice.scheduler.StockReconciliationJob;
+import com.inventory.microservice.scheduler.TenantJobRunner;
+import com.inventory.microservice.service.InventorySnapshotService;
+import com.inventory.microservice.service.LowStockTracker;
+import com.inventory.microservice.service.ProductCache;
+import com.inventory.microservice.service.ProductImportService;
+import com.inventory.microservice.service.ProductService;
+import com.inventory.microservice.service.StockAdjustmentWriter;
+import com.inventory.microservice.service.StockUpdateCoalescer;
+import com.inventory.microservice.service.StockUpdateDispatcher;
+import com.inventory.microservice.service.StockUpdateRetrier;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The service beans on the measured paths, wired against an in-memory H2 database in MySQL mode
+ * instead of the tenant-routed MySQL schemas. Tables are created by Hibernate from the entities, so the
+ * numbers measure the service code and JDBC round trips, not MySQL itself; compare runs with each other,
+ * not with production latencies.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = Product.class)
+@EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+@Import({
+        ProductService.class,
+        ProductCache.class,
+        ProductImportService.class,
+        StockUpdateCoalescer.class,
+        StockUpdateDispatcher.class,
+        StockUpdateRetrier.class,
+        StockUpdateProperties.class,
+        StockAdjustmentWriter.class,
+        StockAdjustmentJournal.class,
+        LowStockTracker.class,
+        InventorySnapshotService.class,
+        TenantJobRunner.class,
+        TenantSchemaMigrator.class,
+        StockReconciliationJob.class,
+        TenantMetricTags.class,
+        StockRetryMetricsListener.class
+})
+public class BenchmarkContext {
+
+    public static final String TENANT_ID = "bench";
+
+    // One H2 database stands in for every tenant schema, so there is nothing to route
+    @Bean
+    public TenantRegistry tenantRegistry(TenantRepository tenantRepository, DataSource dataSource) {
+        return new TenantRegistry(tenantRepository, null) {
+
+            @Override
+            protected DataSource route(Tenant tenant) {
+                return dataSource;
+            }
+
+            @Override
+            protected void unroute(Tenant tenant) {
+            }
+
+            @Override
+            protected void resolveMisses(Function<String, DataSource> resolver) {
+            }
+
+            @Override
+            protected Optional<Tenant> lookUp(String tenantId) {
+                return tenantRepository.findByTenantId(tenantId);
+            }
+        };
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        // A fresh database per context so trials never see each other's rows
+        String url = "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(BenchmarkContext.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("spring.config.name=benchmark", "spring.datasource.url=" + url)
+                .properties(properties)
+                .run();
+    }
+
+    public static List<Product> seedProducts(ConfigurableApplicationContext context, int count,
+                                             int stockQuantity, int categories) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setSku("SKU-" + i);
+            product.setName("Benchmark product " + i);
+            product.setDescription("Seeded product number " + i + " for benchmarks");
+            product.setCategory("category-" + (i % categories));
+            product.setPrice(BigDecimal.valueOf(1 + i % 500, 2).add(BigDecimal.ONE));
+            product.setStockQuantity(stockQuantity);
+            product.setReorderLevel(10);
+            product.setActive(true);
+            products.add(product);
+        }
+        return context.getBean(ProductRepository.class).saveAll(products);
+    }
+
+    public static void seedTenant(ConfigurableApplicationContext context) {
+        Tenant tenant = new Tenant();
+        tenant.setTenantId(TENANT_ID);
+        tenant.setTenantName("Benchmark tenant");
+        tenant.setSchemaName("tenant_" + TENANT_ID);
+        tenant.setActive(true);
+        context.getBean(TenantRepository.class).save(tenant);
+        context.getBean(TenantRegistry.class).refresh();
+    }
+}
@@ -0,0 +1,100 @@
+package com.inventory.microservice.benchmarks;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.ProductImportResult;
+import com.inventory.microservice.importer.ProductImportFormat;
+import com.inventory.microservice.service.ProductImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bulk import of {@code rows} new products per iteration (each iteration uses fresh SKUs, so every row
+ * is an insert with an initial stock adjustment). Throughput in rows per second is {@code rows / score}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductImportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"CSV", "NDJSON"})
+    public String format;
+
+    @Param({"1000"})
+    public int chunkSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductImportService productImportService;
+    private ProductImportFormat importFormat;
+    private byte[] input;
+    private int iteration;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("inventory.import.chunk-size=" + chunkSize);
+        productImportService = context.getBean(ProductImportService.class);
+        importFormat = ProductImportFormat.valueOf(format);
+    }
+
+    @Setup(Level.Iteration)
+    public void generateInput() {
+        String prefix = "IMP-" + iteration++ + "-";
+        StringBuilder builder = new StringBuilder(rows * 120);
+        if (importFormat == ProductImportFormat.CSV) {
+            builder.append("sku,name,description,category,price,stock_quantity,reorder_level\n");
+        }
+        for (int i = 0; i < rows; i++) {
+            String sku = prefix + i;
+            String category = "category-" + (i % 50);
+            String price = (1 + i % 500) + ".99";
+            int stock = i % 200;
+            if (importFormat == ProductImportFormat.CSV) {
+                builder.append(sku).append(",Imported product ").append(i)
+                        .append(",\"Imported, for benchmarks\",").append(category).append(',')
+                        .append(price).append(',').append(stock).append(",10\n");
+            } else {
+                builder.append("{\"sku\":\"").append(sku).append("\",\"name\":\"Imported product ").append(i)
+                        .append("\",\"description\":\"Imported, for benchmarks\",\"category\":\"").append(category)
+                        .append("\",\"price\":").append(price).append(",\"stockQuantity\":").append(stock)
+                        .append(",\"reorderLevel\":10}\n");
+            }
+        }
+        input = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductImportResult importProducts() {
+        TenantContext.setCurrentTenant(BenchmarkContext.TENANT_ID);
+        try {
+            return productImportService.importProducts(new ByteArrayInputStream(input), importFormat);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
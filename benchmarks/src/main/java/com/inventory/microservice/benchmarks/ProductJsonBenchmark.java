@@ -0,0 +1,68 @@
+package com.inventory.microservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.microservice.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialisation of {@link Product} lists as the list endpoints return them, and one object per line
+ * as the NDJSON export writes them. The mapper is built with the same defaults Spring Boot applies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void start() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        products = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            products.add(new Product(i + 1, "SKU-" + i, "Benchmark product " + i,
+                    "Seeded product number " + i + " for benchmarks", "category-" + (i % 20),
+                    BigDecimal.valueOf(1999 + i, 2), 100, 0, 10, true, 3L, now, now));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public void writeNdjson(Blackhole blackhole) throws JsonProcessingException {
+        for (Product product : products) {
+            blackhole.consume(objectMapper.writeValueAsBytes(product));
+        }
+    }
+}
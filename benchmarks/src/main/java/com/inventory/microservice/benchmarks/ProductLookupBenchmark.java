@@ -0,0 +1,79 @@
+package com.inventory.microservice.benchmarks;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#getProductBySku} over a uniformly random SKU. With {@code cached=false} no tenant
+ * is bound, which bypasses the per-tenant product cache so every lookup reaches the database.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ProductLookupBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private String[] skus;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        skus = BenchmarkContext.seedProducts(context, catalogSize, 100, 20).stream()
+                .map(Product::getSku)
+                .toArray(String[]::new);
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+
+        @Setup(Level.Trial)
+        public void bindTenant(ProductLookupBenchmark benchmark) {
+            if (benchmark.cached) {
+                TenantContext.setCurrentTenant(BenchmarkContext.TENANT_ID);
+            } else {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public Product getProductBySku(Reader reader) {
+        return productService.getProductBySku(skus[ThreadLocalRandom.current().nextInt(skus.length)]);
+    }
+}
@@ -0,0 +1,56 @@
+package com.inventory.microservice.benchmarks;
+
+import com.inventory.microservice.scheduler.StockReconciliationJob;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One run of the daily reconciliation for a single tenant with {@code catalogSize} products, including
+ * the {@code TenantJobRunner} dispatch. The score is the per-tenant cost of the job.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StockReconciliationBenchmark {
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private StockReconciliationJob stockReconciliationJob;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seedTenant(context);
+        BenchmarkContext.seedProducts(context, catalogSize, 100, 50);
+        stockReconciliationJob = context.getBean(StockReconciliationJob.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public void reconcileStock() {
+        stockReconciliationJob.reconcileStock();
+    }
+}
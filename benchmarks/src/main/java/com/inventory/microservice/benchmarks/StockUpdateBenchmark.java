@@ -0,0 +1,123 @@
+package com.inventory.microservice.benchmarks;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.dto.UpdateStockRequest;
+import com.inventory.microservice.entity.Product;
+import com.inventory.microservice.service.StockUpdateDispatcher;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single stock updates through {@link StockUpdateDispatcher#updateStock}, the entry point the controller uses,
+ * with every writer thread hitting the same {@code hotProducts} rows. Compares the update modes and the
+ * SYNC and JOURNAL audit writers; sample time gives the latency percentiles. Vary contention with
+ * {@code -t} (see run-benchmarks.sh). Updates that fail (optimistic retries exhausted) are counted in
+ * the {@code failed} secondary result.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class StockUpdateBenchmark {
+
+    @Param({"OPTIMISTIC", "ATOMIC", "COALESCED"})
+    public String mode;
+
+    @Param({"SYNC", "JOURNAL"})
+    public String auditMode;
+
+    @Param({"ALWAYS"})
+    public String journalSyncPolicy;
+
+    @Param({"1", "64"})
+    public int hotProducts;
+
+    private ConfigurableApplicationContext context;
+    private StockUpdateDispatcher stockUpdateDispatcher;
+    private List<Long> productIds;
+    private Path journalDirectory;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        journalDirectory = Files.createTempDirectory("stock-journal");
+        context = BenchmarkContext.start(
+                "inventory.stock.default-mode=" + mode,
+                "inventory.stock.audit.mode=" + auditMode,
+                "inventory.stock.audit.journal.directory=" + journalDirectory,
+                "inventory.stock.audit.journal.sync-policy=" + journalSyncPolicy);
+        productIds = BenchmarkContext.seedProducts(context, hotProducts, 1_000_000, 1).stream()
+                .map(Product::getId)
+                .toList();
+        stockUpdateDispatcher = context.getBean(StockUpdateDispatcher.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(journalDirectory);
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private boolean restock;
+
+        @Setup(Level.Trial)
+        public void bindTenant() {
+            TenantContext.setCurrentTenant(BenchmarkContext.TENANT_ID);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failed = 0;
+        }
+    }
+
+    @Benchmark
+    public Product updateStock(Writer writer, Outcomes outcomes) {
+        Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        // Alternating sale and restock keeps stock level stable however long the run is
+        writer.restock = !writer.restock;
+        UpdateStockRequest request = writer.restock
+                ? new UpdateStockRequest(1, "RESTOCK", "benchmark")
+                : new UpdateStockRequest(-1, "SALE", "benchmark");
+        try {
+            return stockUpdateDispatcher.updateStock(productId, request);
+        } catch (RuntimeException e) {
+            outcomes.failed++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.inventory.microservice.benchmarks;
+
+import com.inventory.microservice.config.TenantContext;
+import com.inventory.microservice.config.TenantDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-connection routing cost of {@link TenantDataSource}: binding the tenant and resolving the lookup key,
+ * and the full target lookup, with {@code tenants} registered targets. No connections are opened.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TenantRoutingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int tenants;
+
+    private RoutingProbe dataSource;
+    private String[] tenantIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        DataSource master = new SimpleDriverDataSource();
+        dataSource = new RoutingProbe();
+        dataSource.setTargetDataSources(Map.of(TenantDataSource.MASTER, master));
+        dataSource.setDefaultTargetDataSource(master);
+        dataSource.afterPropertiesSet();
+
+        tenantIds = new String[tenants];
+        for (int i = 0; i < tenants; i++) {
+            tenantIds[i] = "tenant-" + i;
+            dataSource.addTenantDataSource(tenantIds[i], new SimpleDriverDataSource());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        private int next;
+
+        String nextTenant(String[] tenantIds) {
+            next = next + 1 == tenantIds.length ? 0 : next + 1;
+            return tenantIds[next];
+        }
+    }
+
+    @Benchmark
+    public Object determineCurrentLookupKey(Request request) {
+        TenantContext.setCurrentTenant(request.nextTenant(tenantIds));
+        return dataSource.lookupKey();
+    }
+
+    @Benchmark
+    public DataSource determineTargetDataSource(Request request) {
+        TenantContext.setCurrentTenant(request.nextTenant(tenantIds));
+        return dataSource.target();
+    }
+
+    // Exposes the protected routing hooks
+    static final class RoutingProbe extends TenantDataSource {
+
+        Object lookupKey() {
+            return determineCurrentLookupKey();
+        }
+
+        DataSource target() {
+            return determineTargetDataSource();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+#!/bin/bash
+
+# Inventory Microservice - Load Test
+# Compares platform-thread and virtual-thread request handling under the same load.
+# For each mode it starts the service, seeds a tenant with products, drives it with `hey`
+# at increasing concurrency and writes the reports to load-test-results/<mode>-c<concurrency>.txt.
+#
+# Requires: MySQL set up by ./setup-database.sh, Java 21, hey (https://github.com/rakyll/hey)
+# Usage:    ./load-test.sh [duration, default 30s]
+#
+# Results: none recorded yet. Virtual-thread mode is not benchmarked until this has been run against
+# MySQL on Java 21; add the Requests/sec summary printed at the end here, per mode and concurrency.
+
+set -e
+
+cd "$(dirname "$0")"
+DURATION="${1:-30s}"
+CONCURRENCY="${CONCURRENCY:-50 200 400 800}"
+PORT="${PORT:-8081}"
+BASE_URL="http://localhost:$PORT"
+TENANT="loadtest"
+PRODUCTS=10000
+RESULTS="load-test-results"
+
+if ! command -v hey > /dev/null; then
+    echo "hey is required: go install github.com/rakyll/hey@latest"
+    exit 1
+fi
+
+echo "Building service for Java 21..."
+(cd backend && mvn -B -q -Pjdk21 package -DskipTests)
+JAR="$(ls backend/target/inventory-microservice-*-exec.jar)"
+mkdir -p "$RESULTS"
+
+wait_for_service() {
+    for _ in $(seq 1 60); do
+        if curl -sf "$BASE_URL/api/tenants" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Service did not start"
+    return 1
+}
+
+seed() {
+    curl -s -X POST "$BASE_URL/api/tenants" -H "Content-Type: application/json" \
+        -d "{\"tenantId\":\"$TENANT\",\"tenantName\":\"Load Test\"}" > /dev/null || true
+    python3 - "$PRODUCTS" > "$RESULTS/products.ndjson" <<'PY'
+import json, sys
+for i in range(int(sys.argv[1])):
+    print(json.dumps({"sku": f"LOAD-{i}", "name": f"Load test product {i}", "category": f"category-{i % 20}",
+                      "price": 9.99, "stockQuantity": 1000000, "reorderLevel": 10}))
+PY
+    curl -s -X POST "$BASE_URL/api/products/import" -H "X-Tenant-ID: $TENANT" \
+        -H "Content-Type: application/x-ndjson" --data-binary "@$RESULTS/products.ndjson" > /dev/null
+}
+
+for MODE in platform virtual; do
+    VIRTUAL=false
+    if [ "$MODE" = "virtual" ]; then
+        VIRTUAL=true
+    fi
+
+    echo "Starting service with $MODE threads..."
+    java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$VIRTUAL" \
+        --spring.jpa.show-sql=false --multitenancy.rate-limit.enabled=false --logging.level.com.inventory.microservice=WARN \
+        > "$RESULTS/$MODE-service.log" 2>&1 &
+    SERVICE_PID=$!
+    trap 'kill $SERVICE_PID 2> /dev/null' EXIT
+    wait_for_service
+    seed
+
+    for C in $CONCURRENCY; do
+        echo "  $MODE: $C concurrent clients for $DURATION"
+        {
+            echo "### GET /api/products/{id}"
+            hey -z "$DURATION" -c "$C" -H "X-Tenant-ID: $TENANT" "$BASE_URL/api/products/1"
+            echo "### GET /api/products?limit=50"
+            hey -z "$DURATION" -c "$C" -H "X-Tenant-ID: $TENANT" "$BASE_URL/api/products?limit=50"
+            echo "### PATCH /api/products/{id}/stock"
+            hey -z "$DURATION" -c "$C" -m PATCH -T "application/json" -H "X-Tenant-ID: $TENANT" \
+                -d '{"quantityChange":-1,"adjustmentType":"SALE","reason":"load test"}' \
+                "$BASE_URL/api/products/2/stock"
+        } > "$RESULTS/$MODE-c$C.txt"
+    done
+
+    kill "$SERVICE_PID"
+    wait "$SERVICE_PID" 2> /dev/null || true
+    trap - EXIT
+done
+
+echo "Reports written to $RESULTS/"
+grep -H "Requests/sec" "$RESULTS"/*-c*.txt